@@ -422,6 +422,18 @@ UPDATE students SET grade = 100.00 WHERE user_id = 22;
 -- Liam Scott: 3/5 = 60%
 UPDATE students SET grade = 60.00 WHERE user_id = 23;
 
+-- Running totals used for incremental grading on new submissions
+UPDATE students s
+JOIN (
+    SELECT qr.student_id, SUM(qr.score) AS score_total, SUM(qc.question_count) AS question_total
+    FROM quiz_results qr
+    JOIN (SELECT quiz_id, COUNT(*) AS question_count FROM questions GROUP BY quiz_id) qc
+        ON qc.quiz_id = qr.quiz_id
+    GROUP BY qr.student_id
+) t ON t.student_id = s.user_id
+SET s.quiz_score_total = t.score_total,
+    s.quiz_question_total = t.question_total;
+
 -- ============================================
 -- VERIFICATION QUERIES
 -- ============================================
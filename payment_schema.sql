@@ -13,7 +13,11 @@ CREATE TABLE payments (
     transaction_id VARCHAR(100) UNIQUE,
     status VARCHAR(20) NOT NULL,  -- SUCCESS, FAILED, PENDING, REFUNDED
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Set for pending and successful payments, so the unique key below allows one per user and level:
+    -- the PENDING row written before the gateway call reserves the level against a second charge
+    paid_level_key VARCHAR(32) AS (CASE WHEN status IN ('PENDING', 'SUCCESS') THEN CONCAT(user_id, ':', level) END) PERSISTENT,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT uq_payments_paid_level UNIQUE (paid_level_key),
     CONSTRAINT chk_level CHECK (level BETWEEN 1 AND 4),
     CONSTRAINT chk_status CHECK (status IN ('SUCCESS', 'FAILED', 'PENDING', 'REFUNDED')),
     CONSTRAINT chk_payment_method CHECK (payment_method IN ('CARD', 'BANK_TRANSFER', 'CASH'))
@@ -28,3 +32,11 @@ CREATE INDEX idx_payments_created_at ON payments(created_at);
 -- Composite index for checking if user paid for specific level
 CREATE INDEX idx_payments_user_level ON payments(user_id, level, status);
 
+-- Upgrading an existing database: add the one-payment-per-level guard. Settle any PENDING
+-- payment for a level that also has another PENDING or SUCCESS row first, or the key will not build.
+-- ALTER TABLE payments DROP INDEX IF EXISTS uq_payments_paid_level, DROP COLUMN IF EXISTS paid_level_key;
+-- ALTER TABLE payments
+--     ADD COLUMN paid_level_key VARCHAR(32)
+--         AS (CASE WHEN status IN ('PENDING', 'SUCCESS') THEN CONCAT(user_id, ':', level) END) PERSISTENT,
+--     ADD CONSTRAINT uq_payments_paid_level UNIQUE (paid_level_key);
+
@@ -0,0 +1,100 @@
+package com.ums.system;
+
+import com.ums.system.model.User;
+import com.ums.system.service.AuthServiceImpl;
+import com.ums.system.utils.DatabaseConnection;
+import com.ums.system.utils.PasswordUtil;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Login Throughput Benchmark
+ * Measures logins per second for one existing account with a single
+ * verification thread, with the bounded verification pool, and with the
+ * verified-credential cache warm.
+ *
+ * Usage: AuthBenchmark <email> <password> [logins]
+ */
+public class AuthBenchmark {
+
+    // Logins submitted at once; stays below the verification queue capacity
+    private static final int WAVE_SIZE = 128;
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: AuthBenchmark <email> <password> [logins]");
+            return;
+        }
+        String email = args[0];
+        String password = args[1];
+        int logins = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("=================================================");
+        System.out.println("  UMS LOGIN THROUGHPUT BENCHMARK");
+        System.out.println("=================================================\n");
+
+        DatabaseConnection database = DatabaseConnection.getInstance();
+        DataSource dataSource = database.getConnectionPool();
+        PasswordUtil.setCost(database.getIntSetting("BCRYPT_COST", PasswordUtil.DEFAULT_BCRYPT_COST));
+
+        System.out.println("Account: " + email);
+        System.out.println("BCrypt cost: " + PasswordUtil.getCost() + ", cores: " + cores + ", logins: " + logins);
+        System.out.println("─────────────────────────────────────────────");
+
+        try {
+            // A cache TTL of zero forces a BCrypt check on every login
+            AuthServiceImpl singleThread = new AuthServiceImpl(dataSource, 1, 0);
+            if (singleThread.authenticate(email, password) == null) {
+                System.out.println("Login failed for " + email + ", check the credentials.");
+                singleThread.shutdown();
+                return;
+            }
+            run("Single thread, no cache", singleThread, email, password, logins);
+            singleThread.shutdown();
+
+            AuthServiceImpl pooled = new AuthServiceImpl(dataSource, cores, 0);
+            run("Pool of " + cores + ", no cache", pooled, email, password, logins);
+            pooled.shutdown();
+
+            AuthServiceImpl cached = new AuthServiceImpl(dataSource);
+            cached.authenticate(email, password);
+            run("Pool of " + cores + ", cache warm", cached, email, password, logins);
+            cached.shutdown();
+
+            System.out.println("\n=================================================");
+            System.out.println("  BENCHMARK COMPLETED");
+            System.out.println("=================================================");
+        } catch (Exception e) {
+            System.err.println("\nERROR: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            database.closePool();
+        }
+    }
+
+    private static void run(String label, AuthServiceImpl authService, String email, String password, int logins) {
+        long start = System.nanoTime();
+        int failed = 0;
+        for (int done = 0; done < logins; done += WAVE_SIZE) {
+            List<CompletableFuture<User>> wave = new ArrayList<>();
+            for (int i = done; i < Math.min(logins, done + WAVE_SIZE); i++) {
+                wave.add(authService.authenticateAsync(email, password));
+            }
+            for (CompletableFuture<User> login : wave) {
+                if (login.join() == null) {
+                    failed++;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("\n%s\n", label);
+        System.out.printf("  %d logins in %.2f s: %.1f logins/s (%d failed)\n",
+                logins, seconds, logins / seconds, failed);
+        System.out.println("  " + authService.getStats());
+    }
+}
@@ -0,0 +1,183 @@
+package com.ums.system;
+
+import com.ums.system.dao.*;
+import com.ums.system.model.*;
+import com.ums.system.utils.DatabaseConnection;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Registration Rush Benchmark
+ * Enrolls every eligible student in one course from many threads at once,
+ * with each student clicking "Enroll" twice, first through the old
+ * check-then-insert sequence and then through the conditional insert.
+ * Enrollments created by the benchmark are removed after each run.
+ *
+ * Usage: EnrollmentBenchmark <courseCode> [threads]
+ */
+public class EnrollmentBenchmark {
+
+    private static final int CLICKS_PER_STUDENT = 2;
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: EnrollmentBenchmark <courseCode> [threads]");
+            return;
+        }
+        String courseCode = args[0];
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+
+        System.out.println("=================================================");
+        System.out.println("  UMS REGISTRATION RUSH BENCHMARK");
+        System.out.println("=================================================\n");
+
+        DataSource dataSource = DatabaseConnection.getInstance().getConnectionPool();
+        StudentDAOImpl studentDAO = new StudentDAOImpl(dataSource);
+        CourseDAOImpl courseDAO = new CourseDAOImpl(dataSource);
+        EnrollmentDAO enrollmentDAO = new EnrollmentDAOImpl(dataSource);
+
+        try {
+            Course course = courseDAO.getByCode(courseCode);
+            if (course == null) {
+                System.out.println("Course " + courseCode + " does not exist.");
+                return;
+            }
+
+            Set<Integer> alreadyEnrolled = enrollmentDAO.getStudentsByCourseCode(courseCode).stream()
+                .map(Student::getId)
+                .collect(Collectors.toSet());
+            List<Integer> studentIds = studentDAO.getAll().stream()
+                .filter(s -> String.valueOf(s.getLevel()).equals(course.getLevel()))
+                .filter(s -> s.getMajor() != null && s.getMajor().equalsIgnoreCase(course.getMajor()))
+                .map(Student::getId)
+                .filter(id -> !alreadyEnrolled.contains(id))
+                .collect(Collectors.toList());
+
+            System.out.println("Course: " + courseCode + " (level " + course.getLevel() + ", " + course.getMajor() + ")");
+            System.out.println("Eligible students: " + studentIds.size() + ", threads: " + threads +
+                               ", clicks per student: " + CLICKS_PER_STUDENT);
+            System.out.println("─────────────────────────────────────────────");
+            if (studentIds.isEmpty()) {
+                System.out.println("No eligible students to enroll.");
+                return;
+            }
+
+            run("Check-then-insert (before)", studentIds, threads, enrollmentDAO, courseCode,
+                id -> legacyEnroll(dataSource, studentDAO, courseDAO, id, courseCode));
+            run("Conditional insert (after)", studentIds, threads, enrollmentDAO, courseCode,
+                id -> enrollmentDAO.enrollStudentInCourse(id, courseCode));
+
+            System.out.println("\n=================================================");
+            System.out.println("  BENCHMARK COMPLETED");
+            System.out.println("=================================================");
+        } catch (Exception e) {
+            System.err.println("\nERROR: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseConnection.getInstance().closePool();
+        }
+    }
+
+    private interface EnrollCall {
+        EnrollmentOutcome enroll(int studentId) throws Exception;
+    }
+
+    private static void run(String label, List<Integer> studentIds, int threads, EnrollmentDAO enrollmentDAO,
+                            String courseCode, EnrollCall call) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Map<EnrollmentOutcome, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> attempts = new ArrayList<>();
+
+        for (int click = 0; click < CLICKS_PER_STUDENT; click++) {
+            for (int studentId : studentIds) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    EnrollmentOutcome outcome;
+                    try {
+                        outcome = call.enroll(studentId);
+                    } catch (Exception e) {
+                        outcome = EnrollmentOutcome.FAILED;
+                    }
+                    outcomes.computeIfAbsent(outcome, o -> new AtomicInteger()).incrementAndGet();
+                    return null;
+                }));
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> attempt : attempts) {
+            try {
+                attempt.get();
+            } catch (ExecutionException e) {
+                // Counted as FAILED inside the task
+            }
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        executor.shutdown();
+
+        System.out.printf("\n%s\n", label);
+        System.out.printf("  %d attempts in %.2f s: %.1f attempts/s\n",
+                attempts.size(), seconds, attempts.size() / seconds);
+        for (EnrollmentOutcome outcome : EnrollmentOutcome.values()) {
+            AtomicInteger count = outcomes.get(outcome);
+            if (count != null) {
+                System.out.println("  " + outcome + ": " + count.get());
+            }
+        }
+
+        for (int studentId : studentIds) {
+            enrollmentDAO.removeStudentFromCourse(studentId, courseCode);
+        }
+    }
+
+    /**
+     * The previous enrollment path: four separate checks, then the insert,
+     * each on its own connection.
+     */
+    private static EnrollmentOutcome legacyEnroll(DataSource dataSource, StudentDAOImpl studentDAO,
+                                                  CourseDAOImpl courseDAO, int studentId, String courseCode)
+            throws SQLException {
+        if (!courseDAO.existsByCode(courseCode)) {
+            return EnrollmentOutcome.COURSE_NOT_FOUND;
+        }
+        Student student = studentDAO.getById(studentId);
+        Course course = courseDAO.getByCode(courseCode);
+        if (!String.valueOf(student.getLevel()).equals(course.getLevel())) {
+            return EnrollmentOutcome.LEVEL_MISMATCH;
+        }
+        if (!student.getMajor().equalsIgnoreCase(course.getMajor())) {
+            return EnrollmentOutcome.MAJOR_MISMATCH;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                 "SELECT COUNT(*) FROM student_courses WHERE student_id=? AND course_code=?")) {
+            ps.setInt(1, studentId);
+            ps.setString(2, courseCode);
+            ResultSet rs = ps.executeQuery();
+            if (rs.next() && rs.getInt(1) > 0) {
+                return EnrollmentOutcome.ALREADY_ENROLLED;
+            }
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                 "INSERT INTO student_courses (student_id, course_code) VALUES (?, ?)")) {
+            ps.setInt(1, studentId);
+            ps.setString(2, courseCode);
+            ps.executeUpdate();
+            return EnrollmentOutcome.ENROLLED;
+        }
+    }
+}
@@ -7,12 +7,12 @@ import com.ums.system.utils.ReportGenerator;
 import com.ums.system.utils.PasswordUtil;
 import com.ums.system.dao.*;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
 import java.util.*;
 
 public class Main {
     private static Scanner scanner = new Scanner(System.in);
-    private static Connection conn;
+    private static DataSource dataSource;
     private static AdminService adminService;
     private static InstructorService instructorService;
     private static CourseService courseService;
@@ -21,6 +21,7 @@ public class Main {
     private static EnrollmentDAO enrollmentDAO;
     private static QuizResultService quizResultService;
     private static ReportGenerator reportGenerator;
+    private static AuthService authService;
 
     public static void main(String[] args) {
         System.out.println("===================================");
@@ -28,20 +29,23 @@ public class Main {
         System.out.println("===================================\n");
 
         try {
-            conn = DatabaseConnection.getInstance().getConnection();
-            if (conn == null) {
+            dataSource = DatabaseConnection.getInstance().getConnectionPool();
+            if (dataSource == null) {
                 System.out.println("Error: Unable to connect to database. Exiting...");
                 return;
             }
-
-            adminService = new AdminServiceImpl(conn);
-            instructorService = new InstructorServiceImpl(conn);
-            courseService = new CourseServiceImpl(conn);
-            studentService = new StudentServiceImpl(conn);
-            quizService = new QuizServiceImpl(conn);
-            enrollmentDAO = new EnrollmentDAOImpl(conn);
-            quizResultService = new QuizResultServiceImpl(conn);
+            PasswordUtil.setCost(DatabaseConnection.getInstance()
+                    .getIntSetting("BCRYPT_COST", PasswordUtil.DEFAULT_BCRYPT_COST));
+
+            adminService = new AdminServiceImpl(dataSource);
+            courseService = new CourseServiceImpl(dataSource);
+            instructorService = new InstructorServiceImpl(dataSource, courseService);
+            studentService = new StudentServiceImpl(dataSource);
+            quizService = new QuizServiceImpl(dataSource, courseService);
+            enrollmentDAO = new EnrollmentDAOImpl(dataSource);
+            quizResultService = new QuizResultServiceImpl(dataSource);
             reportGenerator = new ReportGenerator(enrollmentDAO, quizResultService);
+            authService = new AuthServiceImpl(dataSource);
 
             User loggedInUser = login();
 
@@ -56,7 +60,7 @@ public class Main {
             e.printStackTrace();
         } finally {
         try {
-            DatabaseConnection.getInstance().closeConnection();
+            DatabaseConnection.getInstance().closePool();
         } catch (Exception e) {
             // Ignore
         }
@@ -81,28 +85,10 @@ private static User login() {
         return null;
     }
 
-    Admin admin = adminService.getAdminByEmail(email);
-    if (admin != null) {
-        if (PasswordUtil.verifyPassword(password, admin.getPassword())) {
-            System.out.println("\nLogin successful! Welcome " + admin.getName());
-            return admin;
-        }
-    }
-
-    Instructor instructor = instructorService.getInstructorByEmail(email);
-    if (instructor != null) {
-        if (PasswordUtil.verifyPassword(password, instructor.getPassword())) {
-            System.out.println("\nLogin successful! Welcome " + instructor.getName());
-            return instructor;
-        }
-    }
-
-    Student student = studentService.getStudentByEmail(email);
-    if (student != null) {
-        if (PasswordUtil.verifyPassword(password, student.getPassword())) {
-            System.out.println("\nLogin successful! Welcome " + student.getName());
-            return student;
-        }
+    User user = authService.authenticate(email, password);
+    if (user != null) {
+        System.out.println("\nLogin successful! Welcome " + user.getName());
+        return user;
     }
 
     System.out.println("Invalid email or password!");
@@ -707,7 +693,10 @@ private static void registerForCourse(Student student) {
     String courseCode = scanner.nextLine().trim();
 
     try {
-        enrollmentDAO.enrollStudentInCourse(student.getId(), courseCode);
+        EnrollmentOutcome outcome = enrollmentDAO.enrollStudentInCourse(student.getId(), courseCode);
+        System.out.println(outcome.isSuccess()
+                ? "Registered for course " + courseCode + " successfully."
+                : "Cannot register for course " + courseCode + ": " + outcome.getMessage());
     } catch (Exception e) {
         System.out.println(" Error registering for course: " + e.getMessage());
     }
@@ -810,6 +799,7 @@ private static void takeQuiz(Student student) {
         List<Question> questions = selectedQuiz.getQuestions();
         int score = 0;
         Map<Question, String> answers = new HashMap<>();
+        Map<Integer, Integer> chosenOptions = new HashMap<>();
 
         for (int i = 0; i < questions.size(); i++) {
             Question question = questions.get(i);
@@ -825,6 +815,7 @@ private static void takeQuiz(Student student) {
             if (answerIndex >= 0 && answerIndex < options.size()) {
                 String chosenAnswer = options.get(answerIndex);
                 answers.put(question, chosenAnswer);
+                chosenOptions.put(question.getId(), answerIndex);
 
                 if (answerIndex == question.getCorrectOptionIndex()) {
                     score++;
@@ -839,6 +830,7 @@ private static void takeQuiz(Student student) {
         }
 
         QuizResult result = new QuizResult(student, selectedQuiz, score, answers);
+        result.setChosenOptions(chosenOptions);
         quizResultService.saveResult(result);
         System.out.println("\n=== Quiz Completed! ===");
         System.out.println("Your score: " + score + "/" + questions.size() + " (" + (score * 100 / questions.size()) + "%)");
@@ -4,7 +4,7 @@ import com.ums.system.model.*;
 import com.ums.system.service.*;
 import com.ums.system.utils.DatabaseConnection;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
 import java.util.List;
 
 /**
@@ -18,8 +18,8 @@ public class PaymentSystemDemo {
         System.out.println("  UMS LEVEL FEE PAYMENT SYSTEM - DEMO");
         System.out.println("=================================================\n");
 
-        Connection conn = DatabaseConnection.getInstance().getConnection();
-        PaymentService paymentService = new PaymentServiceImpl(conn);
+        DataSource dataSource = DatabaseConnection.getInstance().getConnectionPool();
+        PaymentService paymentService = new PaymentServiceImpl(dataSource);
 
         int studentId = 12;
         int studentLevel = 2;
@@ -110,12 +110,12 @@ public class PaymentSystemDemo {
             System.out.println("\n\nREVENUE STATISTICS:");
             System.out.println("─────────────────────────────────────────────");
 
-            double totalRevenue = paymentService.getTotalRevenue();
-            System.out.printf("Total Revenue: $%.2f\n\n", totalRevenue);
+            PaymentSummary summary = paymentService.getPaymentSummary();
+            System.out.printf("Total Revenue: $%.2f\n\n", summary.getTotalRevenue());
 
             System.out.println("Revenue by Level:");
             for (int level = 1; level <= 4; level++) {
-                double levelRevenue = paymentService.getTotalRevenueByLevel(level);
+                double levelRevenue = summary.getRevenueForLevel(level);
                 System.out.printf("  Level %d: $%.2f\n", level, levelRevenue);
             }
 
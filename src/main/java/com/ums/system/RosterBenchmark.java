@@ -0,0 +1,150 @@
+package com.ums.system;
+
+import com.ums.system.dao.CourseDAOImpl;
+import com.ums.system.dao.EnrollmentDAO;
+import com.ums.system.dao.EnrollmentDAOImpl;
+import com.ums.system.dao.StudentDAOImpl;
+import com.ums.system.model.Course;
+import com.ums.system.model.Student;
+import com.ums.system.utils.DatabaseConnection;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Roster Round-Trip Benchmark
+ * Loads the roster of every course, smallest to largest, once through the old
+ * per-student lookup and once through the joined query, counting the
+ * connections borrowed and statements prepared for each load. The joined
+ * query should stay at one of each whatever the roster size.
+ *
+ * Usage: RosterBenchmark
+ */
+public class RosterBenchmark {
+
+    public static void main(String[] args) {
+        System.out.println("=================================================");
+        System.out.println("  UMS ROSTER ROUND-TRIP BENCHMARK");
+        System.out.println("=================================================\n");
+
+        DataSource pool = DatabaseConnection.getInstance().getConnectionPool();
+        AtomicInteger connections = new AtomicInteger();
+        AtomicInteger statements = new AtomicInteger();
+        DataSource counted = counting(pool, connections, statements);
+
+        StudentDAOImpl studentDAO = new StudentDAOImpl(counted);
+        EnrollmentDAO enrollmentDAO = new EnrollmentDAOImpl(counted);
+
+        try {
+            List<Course> courses = new CourseDAOImpl(pool).getAll();
+            Map<String, Integer> rosterSizes = new HashMap<>();
+            for (Course course : courses) {
+                rosterSizes.put(course.getCode(), enrollmentDAO.getStudentsByCourseCode(course.getCode()).size());
+            }
+            List<String> codes = new ArrayList<>(rosterSizes.keySet());
+            codes.sort(Comparator.comparing(rosterSizes::get));
+
+            System.out.printf("%-10s %8s   %22s   %22s%n", "Course", "Students",
+                    "Per-student (conn/stmt)", "Joined (conn/stmt)");
+            System.out.println("─────────────────────────────────────────────────────────────────────");
+            for (String code : codes) {
+                connections.set(0);
+                statements.set(0);
+                long start = System.nanoTime();
+                int legacySize = legacyRoster(counted, studentDAO, code).size();
+                double legacyMs = (System.nanoTime() - start) / 1_000_000.0;
+                String legacy = connections.get() + "/" + statements.get() + String.format(" %.1f ms", legacyMs);
+
+                connections.set(0);
+                statements.set(0);
+                start = System.nanoTime();
+                enrollmentDAO.getStudentsByCourseCode(code);
+                double joinedMs = (System.nanoTime() - start) / 1_000_000.0;
+                String joined = connections.get() + "/" + statements.get() + String.format(" %.1f ms", joinedMs);
+
+                System.out.printf("%-10s %8d   %22s   %22s%n", code, legacySize, legacy, joined);
+            }
+
+            System.out.println("\n=================================================");
+            System.out.println("  BENCHMARK COMPLETED");
+            System.out.println("=================================================");
+        } catch (Exception e) {
+            System.err.println("\nERROR: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            DatabaseConnection.getInstance().closePool();
+        }
+    }
+
+    /**
+     * The previous roster load: the enrolled ids, then one student lookup each.
+     */
+    private static List<Student> legacyRoster(DataSource dataSource, StudentDAOImpl studentDAO, String courseCode)
+            throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                 "SELECT student_id FROM student_courses WHERE course_code=?")) {
+            ps.setString(1, courseCode);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                ids.add(rs.getInt("student_id"));
+            }
+        }
+        List<Student> students = new ArrayList<>();
+        for (int id : ids) {
+            Student student = studentDAO.getById(id);
+            if (student != null) students.add(student);
+        }
+        return students;
+    }
+
+    /**
+     * Wraps the data source so every borrowed connection and every statement
+     * prepared on it is counted.
+     */
+    private static DataSource counting(DataSource target, AtomicInteger connections, AtomicInteger statements) {
+        return (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, methodArgs) -> {
+                    Object result = invoke(target, method, methodArgs);
+                    if (result instanceof Connection connection) {
+                        connections.incrementAndGet();
+                        return countingConnection(connection, statements);
+                    }
+                    return result;
+                });
+    }
+
+    private static Connection countingConnection(Connection target, AtomicInteger statements) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, methodArgs) -> {
+                    String name = method.getName();
+                    if (name.equals("prepareStatement") || name.equals("createStatement") || name.equals("prepareCall")) {
+                        statements.incrementAndGet();
+                    }
+                    return invoke(target, method, methodArgs);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -3,9 +3,12 @@ package com.ums.system.controller;
 import com.ums.system.App;
 import com.ums.system.model.*;
 import com.ums.system.service.*;
+import com.ums.system.util.AsyncLoader;
+import com.ums.system.util.PagedTableLoader;
 import com.ums.system.util.ServiceLocator;
 import com.ums.system.utils.PasswordUtil;
 import com.ums.system.utils.ValidationUtil;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -14,12 +17,24 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 
-import java.util.List;
+import java.time.LocalDate;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 
 
 public class AdminController {
 
+    // Bulk statements run here one at a time; unlike asyncLoader loads they are never cancelled or superseded
+    private static final ExecutorService BULK_WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ums-admin-bulk-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
     @FXML private Label welcomeLabel;
     @FXML private Label userInfoLabel;
 
@@ -36,6 +51,8 @@ public class AdminController {
     @FXML private TextField courseLevelField;
     @FXML private TextField courseLectureTimeField;
     @FXML private ComboBox<Instructor> courseInstructorCombo;
+    @FXML private Button enrollCohortButton;
+    @FXML private Button dropCourseForAllButton;
 
     @FXML private TableView<User> usersTable;
     @FXML private TableColumn<User, Integer> userIdColumn;
@@ -59,6 +76,8 @@ public class AdminController {
     @FXML private TableColumn<Student, String> studentNameColumn;
     @FXML private TableColumn<Student, String> studentEmailColumn;
     @FXML private TableColumn<Student, String> studentLevelColumn;
+    @FXML private Button promotePaidButton;
+    @FXML private Button reconcileGradesButton;
 
     @FXML private TableView<Instructor> instructorsTable;
     @FXML private TableColumn<Instructor, Integer> instructorIdColumn;
@@ -87,6 +106,12 @@ public class AdminController {
     @FXML private TableColumn<Payment, String> paymentDateColumn;
     @FXML private ComboBox<String> paymentStatusFilterCombo;
     @FXML private ComboBox<String> paymentLevelFilterCombo;
+    @FXML private ComboBox<String> paymentMethodFilterCombo;
+    @FXML private DatePicker paymentFromDatePicker;
+    @FXML private DatePicker paymentToDatePicker;
+    @FXML private TextField paymentUserIdField;
+    @FXML private TextField paymentMinAmountField;
+    @FXML private TextField paymentMaxAmountField;
 
     private Admin currentAdmin;
     private CourseService courseService;
@@ -94,6 +119,13 @@ public class AdminController {
     private InstructorService instructorService;
     private StudentService studentService;
     private PaymentService paymentService;
+    private QuizResultService quizResultService;
+    private final AsyncLoader asyncLoader = new AsyncLoader();
+    private PagedTableLoader<Course, String> coursesPager;
+    private PagedTableLoader<User, Integer> usersPager;
+    private PagedTableLoader<Student, Integer> studentsPager;
+    private PagedTableLoader<Instructor, Integer> instructorsPager;
+    private PagedTableLoader<Payment, Integer> paymentsPager;
 
 
     @FXML
@@ -103,7 +135,20 @@ public class AdminController {
         adminService = serviceLocator.getAdminService();
         instructorService = serviceLocator.getInstructorService();
         studentService = serviceLocator.getStudentService();
-        paymentService = new PaymentServiceImpl(serviceLocator.getConnection());
+        paymentService = serviceLocator.getPaymentService();
+        quizResultService = serviceLocator.getQuizResultService();
+
+        coursesPager = new PagedTableLoader<>(asyncLoader, "courses", coursesTable, Course::getCode,
+            e -> showError("Error loading courses: " + e.getMessage()));
+        usersPager = new PagedTableLoader<>(asyncLoader, "users", usersTable, User::getId,
+            e -> showError("Error loading users: " + e.getMessage()));
+        studentsPager = new PagedTableLoader<>(asyncLoader, "students", studentsTable, Student::getId,
+            e -> showError("Error loading students: " + e.getMessage()));
+        instructorsPager = new PagedTableLoader<>(asyncLoader, "instructors", instructorsTable, Instructor::getId,
+            e -> showError("Error loading instructors: " + e.getMessage()));
+        // Payments are listed newest first, so the cursor is the smallest id loaded so far
+        paymentsPager = new PagedTableLoader<>(asyncLoader, "payments", paymentsTable, Payment::getId,
+            e -> showError("Error loading payments: " + e.getMessage()));
 
         setupCoursesTable();
         setupUsersTable();
@@ -170,35 +215,62 @@ public class AdminController {
         loadAllInstructors();
         loadAllPayments();
         updateRevenueStatistics();
+
+        // After the window is up, so the prompt does not block it from showing
+        Platform.runLater(this::checkRejectedSubmissions);
+    }
+
+    /**
+     * Offers to retry quiz submissions the database refused, which would
+     * otherwise sit in the rejected file unnoticed.
+     */
+    private void checkRejectedSubmissions() {
+        SubmissionQueueService submissionQueue = ServiceLocator.getInstance().getSubmissionQueue();
+        long rejected = submissionQueue.getRejectedCount();
+        if (rejected == 0) {
+            return;
+        }
+
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Unsaved Quiz Submissions");
+        confirm.setHeaderText(rejected + " quiz submission(s) could not be saved");
+        confirm.setContentText("The database refused them after several attempts. Retry saving them now?");
+
+        Optional<ButtonType> result = confirm.showAndWait();
+        if (result.isPresent() && result.get() == ButtonType.OK) {
+            try {
+                int requeued = submissionQueue.retryRejected();
+                showInfo(requeued + " submission(s) queued to be saved again.");
+            } catch (Exception e) {
+                showError("Error retrying submissions: " + e.getMessage());
+            }
+        }
     }
 
 
     private void loadInstructorsIntoCombo() {
-        try {
-            List<Instructor> instructors = instructorService.getAllInstructors();
+        courseInstructorCombo.setConverter(new javafx.util.StringConverter<Instructor>() {
+            @Override
+            public String toString(Instructor instructor) {
+                if (instructor == null) {
+                    return null;
+                }
+                return "ID: " + instructor.getId() + " | " + instructor.getName() + " | " + instructor.getDepartment();
+            }
+
+            @Override
+            public Instructor fromString(String string) {
+                return null;
+            }
+        });
 
+        asyncLoader.load("instructorCombo", instructorService::getAllInstructors, instructors -> {
             if (instructors.isEmpty()) {
                 System.out.println("No instructors available. Please create an instructor first.");
             }
 
             courseInstructorCombo.setItems(FXCollections.observableArrayList(instructors));
-            courseInstructorCombo.setConverter(new javafx.util.StringConverter<Instructor>() {
-                @Override
-                public String toString(Instructor instructor) {
-                    if (instructor == null) {
-                        return null;
-                    }
-                    return "ID: " + instructor.getId() + " | " + instructor.getName() + " | " + instructor.getDepartment();
-                }
-
-                @Override
-                public Instructor fromString(String string) {
-                    return null;
-                }
-            });
-        } catch (Exception e) {
-            showError("Error loading instructors: " + e.getMessage());
-        }
+        }, e -> showError("Error loading instructors: " + e.getMessage()));
     }
 
 
@@ -210,19 +282,9 @@ public class AdminController {
         courseLectureTimeColumn.setCellValueFactory(new PropertyValueFactory<>("lectureTime"));
 
         courseInstructorColumn.setCellValueFactory(cellData -> {
-            Course course = cellData.getValue();
-            int instructorId = course.getInstructorId();
-
-            try {
-                Instructor instructor = instructorService.getInstructorById(instructorId);
-                if (instructor != null) {
-                    return new javafx.beans.property.SimpleStringProperty(instructor.getName());
-                } else {
-                    return new javafx.beans.property.SimpleStringProperty("N/A");
-                }
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty("Error");
-            }
+            // The course query joins the name in; courses without an instructor have none
+            String instructorName = cellData.getValue().getInstructorName();
+            return new javafx.beans.property.SimpleStringProperty(instructorName != null ? instructorName : "N/A");
         });
     }
 
@@ -254,14 +316,7 @@ public class AdminController {
 
     @FXML
     private void loadAllCourses() {
-        try {
-            List<Course> courses = courseService.getAllCourses();
-            ObservableList<Course> coursesList = FXCollections.observableArrayList(courses);
-            coursesTable.setItems(coursesList);
-            System.out.println("Loaded " + courses.size() + " courses");
-        } catch (Exception e) {
-            showError("Error loading courses: " + e.getMessage());
-        }
+        coursesPager.reload((afterCode, limit) -> courseService.getCoursesPage(afterCode, limit, null, null));
     }
 
 
@@ -395,25 +450,55 @@ public class AdminController {
     }
 
     @FXML
-    private void loadAllUsers() {
-        try {
-            ObservableList<User> allUsers = FXCollections.observableArrayList();
+    private void handleEnrollCohort() {
+        Course selected = coursesTable.getSelectionModel().getSelectedItem();
+        if (selected == null) {
+            showError("Please select a course to enroll students in!");
+            return;
+        }
+
+        ChoiceDialog<String> dialog = new ChoiceDialog<>("All", "All", "CS", "IS", "IT", "AI");
+        dialog.setTitle("Enroll Cohort");
+        dialog.setHeaderText("Enroll every level " + selected.getLevel() + " " + selected.getMajor() +
+                             " student in " + selected.getCode());
+        dialog.setContentText("Department:");
+
+        Optional<String> result = dialog.showAndWait();
+        if (result.isPresent()) {
+            Department department = "All".equals(result.get()) ? null : Department.valueOf(result.get());
+            runBulkWrite(enrollCohortButton, () -> adminService.enrollCohort(selected.getCode(), department),
+                enrolled -> showInfo(enrolled + " student(s) enrolled in " + selected.getCourseName() + "."),
+                "Error enrolling students: ");
+        }
+    }
 
-            List<Admin> admins = adminService.getAllAdmins();
-            List<Instructor> instructors = instructorService.getAllInstructors();
-            List<Student> students = studentService.getAllStudents();
+    @FXML
+    private void handleDropCourseForAll() {
+        Course selected = coursesTable.getSelectionModel().getSelectedItem();
+        if (selected == null) {
+            showError("Please select a course to drop!");
+            return;
+        }
 
-            allUsers.addAll(admins);
-            allUsers.addAll(instructors);
-            allUsers.addAll(students);
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Confirm Drop");
+        confirm.setHeaderText("Drop Course For All Students");
+        confirm.setContentText("Remove every student from: " + selected.getCourseName() + "?");
 
-            usersTable.setItems(allUsers);
-            System.out.println("Loaded " + allUsers.size() + " users");
-        } catch (Exception e) {
-            showError("Error loading users: " + e.getMessage());
+        Optional<ButtonType> result = confirm.showAndWait();
+        if (result.isPresent() && result.get() == ButtonType.OK) {
+            runBulkWrite(dropCourseForAllButton, () -> adminService.dropCourseForAll(selected.getCode()),
+                dropped -> showInfo(dropped + " student(s) removed from " + selected.getCourseName() + "."),
+                "Error dropping course: ");
         }
     }
 
+    @FXML
+    private void loadAllUsers() {
+        // One keyset query over users with the role-specific columns joined in
+        usersPager.reload((afterId, limit) -> adminService.getUsersPage(afterId == null ? 0 : afterId, limit, null));
+    }
+
 
     @FXML
     private void handleCreateUser() {
@@ -615,14 +700,8 @@ public class AdminController {
 
     @FXML
     private void loadAllStudents() {
-        try {
-            List<Student> students = studentService.getAllStudents();
-            ObservableList<Student> studentsList = FXCollections.observableArrayList(students);
-            studentsTable.setItems(studentsList);
-            System.out.println("Loaded " + students.size() + " students");
-        } catch (Exception e) {
-            showError("Error loading students: " + e.getMessage());
-        }
+        studentsPager.reload((afterId, limit) ->
+            studentService.getStudentsPage(afterId == null ? 0 : afterId, limit, null, null));
     }
 
     @FXML
@@ -704,8 +783,11 @@ public class AdminController {
         if (result.isPresent()) {
             try {
                 int newLevel = Integer.parseInt(result.get());
-                adminService.updateStudentLevel(selected.getId(), newLevel);
-                showInfo("Student level updated successfully!");
+                if (adminService.updateStudentLevel(selected.getId(), newLevel)) {
+                    showInfo("Student level updated successfully!");
+                } else {
+                    showError("Student level could not be updated.");
+                }
                 loadAllStudents();
             } catch (Exception e) {
                 showError("Error updating student: " + e.getMessage());
@@ -714,17 +796,64 @@ public class AdminController {
     }
 
     @FXML
-    private void loadAllInstructors() {
-        try {
-            List<Instructor> instructors = instructorService.getAllInstructors();
-            ObservableList<Instructor> instructorsList = FXCollections.observableArrayList(instructors);
-            instructorsTable.setItems(instructorsList);
-            System.out.println("Loaded " + instructors.size() + " instructors");
-        } catch (Exception e) {
-            showError("Error loading instructors: " + e.getMessage());
+    private void handlePromotePaidStudents() {
+        ChoiceDialog<String> dialog = new ChoiceDialog<>("All", "All", "1", "2", "3");
+        dialog.setTitle("Promote Paid Students");
+        dialog.setHeaderText("Move every student who paid for their current level up one level");
+        dialog.setContentText("Promote from level:");
+
+        Optional<String> result = dialog.showAndWait();
+        if (result.isPresent()) {
+            Integer fromLevel = "All".equals(result.get()) ? null : Integer.valueOf(result.get());
+            runBulkWrite(promotePaidButton, () -> adminService.promotePaidStudents(fromLevel), promoted -> {
+                showInfo(promoted + " student(s) promoted.");
+                loadAllStudents();
+            }, "Error promoting students: ");
+        }
+    }
+
+    @FXML
+    private void handleReconcileGrades() {
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Confirm Reconcile");
+        confirm.setHeaderText("Reconcile Grades");
+        confirm.setContentText("Recompute every student's grade from their stored quiz results? " +
+                               "This scans all results and is best run outside busy hours.");
+
+        Optional<ButtonType> result = confirm.showAndWait();
+        if (result.isPresent() && result.get() == ButtonType.OK) {
+            runBulkWrite(reconcileGradesButton, quizResultService::reconcileGrades, updated -> {
+                showInfo(updated + " student grade(s) reconciled.");
+                loadAllStudents();
+            }, "Error reconciling grades: ");
         }
     }
 
+    /**
+     * Runs a bulk statement off the FX thread, with its button disabled until
+     * it finishes so it cannot be started twice. The statement always runs to
+     * the end and its row count is always reported, even if the screen closes.
+     */
+    private void runBulkWrite(Button button, Supplier<Integer> statement, IntConsumer onDone, String errorPrefix) {
+        button.setDisable(true);
+        CompletableFuture.supplyAsync(statement, BULK_WRITER).whenComplete((count, error) ->
+                Platform.runLater(() -> {
+                    button.setDisable(false);
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        showError(errorPrefix + cause.getMessage());
+                    } else {
+                        onDone.accept(count);
+                    }
+                }));
+    }
+
+    @FXML
+    private void loadAllInstructors() {
+        instructorsPager.reload((afterId, limit) ->
+            instructorService.getInstructorsPage(afterId == null ? 0 : afterId, limit, null));
+    }
+
     // ==================== REVENUE TAB ====================
 
     private void setupPaymentsTable() {
@@ -736,17 +865,10 @@ public class AdminController {
         paymentStatusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
         paymentTransactionColumn.setCellValueFactory(new PropertyValueFactory<>("transactionId"));
 
+        // The payment search joins the name in; payments of deleted users have none
         paymentUserNameColumn.setCellValueFactory(cellData -> {
-            Payment payment = cellData.getValue();
-            try {
-                Student student = studentService.getStudentById(payment.getUserId());
-                if (student != null) {
-                    return new javafx.beans.property.SimpleStringProperty(student.getName());
-                }
-            } catch (Exception e) {
-                // Ignore
-            }
-            return new javafx.beans.property.SimpleStringProperty("N/A");
+            String userName = cellData.getValue().getUserName();
+            return new javafx.beans.property.SimpleStringProperty(userName != null ? userName : "N/A");
         });
 
         paymentDateColumn.setCellValueFactory(cellData -> {
@@ -788,88 +910,103 @@ public class AdminController {
 
         paymentLevelFilterCombo.getItems().addAll("All", "1", "2", "3", "4");
         paymentLevelFilterCombo.setValue("All");
+
+        paymentMethodFilterCombo.getItems().addAll("All", "CARD", "BANK_TRANSFER", "CASH");
+        paymentMethodFilterCombo.setValue("All");
     }
 
     @FXML
     private void loadAllPayments() {
-        try {
-            List<Payment> payments = paymentService.getAllPayments();
-            ObservableList<Payment> paymentsList = FXCollections.observableArrayList(payments);
-            paymentsTable.setItems(paymentsList);
-            System.out.println("Loaded " + payments.size() + " payments");
+        // Goes through the same pager as the filter so a late unfiltered page cannot overwrite a filtered one
+        paymentsPager.reload((beforeId, limit) ->
+            paymentService.getPaymentsPage(beforeId == null ? 0 : beforeId, limit, null, null));
 
-            updateRevenueStatistics();
-        } catch (Exception e) {
-            showError("Error loading payments: " + e.getMessage());
-        }
+        updateRevenueStatistics();
     }
 
     @FXML
     private void handleFilterPayments() {
+        PaymentCriteria criteria;
         try {
-            String statusFilter = paymentStatusFilterCombo.getValue();
-            String levelFilter = paymentLevelFilterCombo.getValue();
+            criteria = buildPaymentCriteria();
+        } catch (IllegalArgumentException e) {
+            showError(e.getMessage());
+            return;
+        }
 
-            List<Payment> payments = paymentService.getAllPayments();
+        paymentsPager.reload((beforeId, limit) ->
+            paymentService.searchPayments(criteria, beforeId == null ? 0 : beforeId, limit));
+    }
 
-            if (!"All".equals(statusFilter)) {
-                payments = payments.stream()
-                    .filter(p -> statusFilter.equals(p.getStatus()))
-                    .collect(java.util.stream.Collectors.toList());
-            }
+    private PaymentCriteria buildPaymentCriteria() {
+        LocalDate from = paymentFromDatePicker.getValue();
+        LocalDate to = paymentToDatePicker.getValue();
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("The start date must not be after the end date");
+        }
+        Double minAmount = parseAmount(paymentMinAmountField.getText(), "Minimum amount");
+        Double maxAmount = parseAmount(paymentMaxAmountField.getText(), "Maximum amount");
+        if (minAmount != null && maxAmount != null && minAmount > maxAmount) {
+            throw new IllegalArgumentException("The minimum amount must not exceed the maximum amount");
+        }
 
-            if (!"All".equals(levelFilter)) {
-                int level = Integer.parseInt(levelFilter);
-                payments = payments.stream()
-                    .filter(p -> p.getLevel() == level)
-                    .collect(java.util.stream.Collectors.toList());
+        Integer userId = null;
+        String userIdText = paymentUserIdField.getText() == null ? "" : paymentUserIdField.getText().trim();
+        if (!userIdText.isEmpty()) {
+            try {
+                userId = Integer.valueOf(userIdText);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Student ID must be a number");
             }
+        }
+
+        return new PaymentCriteria()
+            .status(filterValue(paymentStatusFilterCombo.getValue()))
+            .level(filterValue(paymentLevelFilterCombo.getValue()) == null
+                ? null : Integer.valueOf(paymentLevelFilterCombo.getValue()))
+            .paymentMethod(filterValue(paymentMethodFilterCombo.getValue()))
+            .userId(userId)
+            // The end date is inclusive in the form, so the range runs to the start of the next day
+            .createdBetween(from == null ? null : from.atStartOfDay(),
+                            to == null ? null : to.plusDays(1).atStartOfDay())
+            .amountBetween(minAmount, maxAmount);
+    }
 
-            ObservableList<Payment> paymentsList = FXCollections.observableArrayList(payments);
-            paymentsTable.setItems(paymentsList);
-            System.out.println("Filtered to " + payments.size() + " payments");
+    private static String filterValue(String comboValue) {
+        return comboValue == null || "All".equals(comboValue) ? null : comboValue;
+    }
 
-        } catch (Exception e) {
-            showError("Error filtering payments: " + e.getMessage());
+    private static Double parseAmount(String text, String label) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            double amount = Double.parseDouble(text.trim());
+            if (amount < 0) {
+                throw new IllegalArgumentException(label + " must not be negative");
+            }
+            return amount;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(label + " must be a number");
         }
     }
 
     private void updateRevenueStatistics() {
-        try {
-            double totalRevenue = paymentService.getTotalRevenue();
-            totalRevenueLabel.setText(String.format("%.2f EGP", totalRevenue));
-
-            List<Payment> allPayments = paymentService.getAllPayments();
-            totalPaymentsLabel.setText(allPayments.size() + " payments");
-
-            level1RevenueLabel.setText(String.format("%.2f EGP",
-                paymentService.getTotalRevenueByLevel(1)));
-            level2RevenueLabel.setText(String.format("%.2f EGP",
-                paymentService.getTotalRevenueByLevel(2)));
-            level3RevenueLabel.setText(String.format("%.2f EGP",
-                paymentService.getTotalRevenueByLevel(3)));
-            level4RevenueLabel.setText(String.format("%.2f EGP",
-                paymentService.getTotalRevenueByLevel(4)));
-
-            long successCount = allPayments.stream()
-                .filter(p -> "SUCCESS".equals(p.getStatus()))
-                .count();
-            long failedCount = allPayments.stream()
-                .filter(p -> "FAILED".equals(p.getStatus()))
-                .count();
-            long pendingCount = allPayments.stream()
-                .filter(p -> "PENDING".equals(p.getStatus()))
-                .count();
-
-            successfulPaymentsLabel.setText(String.valueOf(successCount));
-            failedPaymentsLabel.setText(String.valueOf(failedCount));
-            pendingPaymentsLabel.setText(String.valueOf(pendingCount));
+        asyncLoader.load("revenue", paymentService::getPaymentSummary, summary -> {
+            totalRevenueLabel.setText(String.format("%.2f EGP", summary.getTotalRevenue()));
+            totalPaymentsLabel.setText(summary.getTotalPayments() + " payments");
 
-            System.out.println("Revenue statistics updated");
+            level1RevenueLabel.setText(String.format("%.2f EGP", summary.getRevenueForLevel(1)));
+            level2RevenueLabel.setText(String.format("%.2f EGP", summary.getRevenueForLevel(2)));
+            level3RevenueLabel.setText(String.format("%.2f EGP", summary.getRevenueForLevel(3)));
+            level4RevenueLabel.setText(String.format("%.2f EGP", summary.getRevenueForLevel(4)));
 
-        } catch (Exception e) {
-            System.err.println("Error updating revenue statistics: " + e.getMessage());
-        }
+            successfulPaymentsLabel.setText(String.valueOf(summary.getCountForStatus("SUCCESS")));
+            failedPaymentsLabel.setText(String.valueOf(summary.getCountForStatus("FAILED")));
+            pendingPaymentsLabel.setText(String.valueOf(summary.getCountForStatus("PENDING")));
+
+            System.out.println("Revenue statistics updated");
+        }, e -> System.err.println("Error updating revenue statistics: " + e.getMessage()));
     }
 
     private void setFieldError(TextField field) {
@@ -960,6 +1097,7 @@ public class AdminController {
         Optional<ButtonType> result = confirm.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             System.out.println("Logging out...");
+            asyncLoader.cancelAll();
             App.showLoginScreen();
         }
     }
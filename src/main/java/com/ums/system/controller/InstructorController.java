@@ -3,6 +3,7 @@ package com.ums.system.controller;
 import com.ums.system.App;
 import com.ums.system.model.*;
 import com.ums.system.service.*;
+import com.ums.system.util.AsyncLoader;
 import com.ums.system.util.ServiceLocator;
 import com.ums.system.dao.*;
 import javafx.collections.FXCollections;
@@ -42,11 +43,11 @@ public class InstructorController {
     @FXML private TableColumn<Student, String> studentMajorColumn;
     @FXML private TableColumn<Student, String> studentDepartmentColumn;
 
-    @FXML private TableView<Quiz> quizzesTable;
-    @FXML private TableColumn<Quiz, Integer> quizIdColumn;
-    @FXML private TableColumn<Quiz, String> quizTitleColumn;
-    @FXML private TableColumn<Quiz, Integer> quizCourseColumn;
-    @FXML private TableColumn<Quiz, Integer> quizQuestionsColumn;
+    @FXML private TableView<QuizSummary> quizzesTable;
+    @FXML private TableColumn<QuizSummary, Integer> quizIdColumn;
+    @FXML private TableColumn<QuizSummary, String> quizTitleColumn;
+    @FXML private TableColumn<QuizSummary, Integer> quizCourseColumn;
+    @FXML private TableColumn<QuizSummary, Integer> quizQuestionsColumn;
 
     @FXML private TableView<QuizResult> resultsTable;
     @FXML private TableColumn<QuizResult, Integer> resultStudentIdColumn;
@@ -55,13 +56,14 @@ public class InstructorController {
     @FXML private TableColumn<QuizResult, String> resultQuizTitleColumn;
     @FXML private TableColumn<QuizResult, String> resultCourseCodeColumn;
     @FXML private TableColumn<QuizResult, Integer> resultScoreColumn;
-    @FXML private ComboBox<Quiz> resultQuizCombo;
+    @FXML private ComboBox<QuizSummary> resultQuizCombo;
 
     private Instructor currentInstructor;
     private CourseService courseService;
     private StudentService studentService;
     private QuizService quizService;
     private QuizResultService quizResultService;
+    private final AsyncLoader asyncLoader = new AsyncLoader();
     private EnrollmentDAO enrollmentDAO;
 
     @FXML
@@ -106,9 +108,9 @@ public class InstructorController {
             }
         });
 
-        resultQuizCombo.setCellFactory(param -> new ListCell<Quiz>() {
+        resultQuizCombo.setCellFactory(param -> new ListCell<QuizSummary>() {
             @Override
-            protected void updateItem(Quiz quiz, boolean empty) {
+            protected void updateItem(QuizSummary quiz, boolean empty) {
                 super.updateItem(quiz, empty);
                 if (empty || quiz == null) {
                     setText(null);
@@ -118,9 +120,9 @@ public class InstructorController {
             }
         });
 
-        resultQuizCombo.setButtonCell(new ListCell<Quiz>() {
+        resultQuizCombo.setButtonCell(new ListCell<QuizSummary>() {
             @Override
-            protected void updateItem(Quiz quiz, boolean empty) {
+            protected void updateItem(QuizSummary quiz, boolean empty) {
                 super.updateItem(quiz, empty);
                 if (empty || quiz == null) {
                     setText(null);
@@ -171,11 +173,7 @@ public class InstructorController {
         quizTitleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
         quizCourseColumn.setCellValueFactory(new PropertyValueFactory<>("courseCode"));
 
-        quizQuestionsColumn.setCellValueFactory(cellData -> {
-            Quiz quiz = cellData.getValue();
-            int count = quiz.getQuestions() != null ? quiz.getQuestions().size() : 0;
-            return new javafx.beans.property.SimpleIntegerProperty(count).asObject();
-        });
+        quizQuestionsColumn.setCellValueFactory(new PropertyValueFactory<>("questionCount"));
     }
 
     private void setupResultsTable() {
@@ -213,17 +211,14 @@ public class InstructorController {
 
     @FXML
     private void loadMyCourses() {
-        try {
-            List<Course> courses = courseService.getCoursesByInstructorId(currentInstructor.getId());
-            ObservableList<Course> coursesList = FXCollections.observableArrayList(courses);
-            myCoursesTable.setItems(coursesList);
-
-            courseCombo.setItems(coursesList);
-
-            System.out.println("Loaded " + courses.size() + " courses for instructor");
-        } catch (Exception e) {
-            showError("Error loading courses: " + e.getMessage());
-        }
+        int instructorId = currentInstructor.getId();
+        asyncLoader.loadTable("myCourses", myCoursesTable,
+            () -> courseService.getCoursesByInstructorId(instructorId),
+            courses -> {
+                courseCombo.setItems(myCoursesTable.getItems());
+                System.out.println("Loaded " + courses.size() + " courses for instructor");
+            },
+            e -> showError("Error loading courses: " + e.getMessage()));
     }
 
     // ==================== STUDENTS TAB ====================
@@ -236,31 +231,24 @@ public class InstructorController {
             return;
         }
 
-        try {
-            List<Student> students = enrollmentDAO.getStudentsByCourseCode(selectedCourse.getCode());
-            ObservableList<Student> studentsList = FXCollections.observableArrayList(students);
-            studentsTable.setItems(studentsList);
-            System.out.println("Loaded " + students.size() + " students for course: " + selectedCourse.getCourseName());
-        } catch (Exception e) {
-            showError("Error loading students: " + e.getMessage());
-        }
+        asyncLoader.loadTable("students", studentsTable,
+            () -> enrollmentDAO.getStudentsByCourseCode(selectedCourse.getCode()),
+            students -> System.out.println("Loaded " + students.size() + " students for course: " + selectedCourse.getCourseName()),
+            e -> showError("Error loading students: " + e.getMessage()));
     }
 
     // ==================== QUIZZES TAB ====================
 
     @FXML
     private void loadMyQuizzes() {
-        try {
-            List<Quiz> quizzes = quizService.getQuizzesByInstructor(currentInstructor.getId());
-            ObservableList<Quiz> quizzesList = FXCollections.observableArrayList(quizzes);
-            quizzesTable.setItems(quizzesList);
-
-            resultQuizCombo.setItems(quizzesList);
-
-            System.out.println("Loaded " + quizzes.size() + " quizzes");
-        } catch (Exception e) {
-            showError("Error loading quizzes: " + e.getMessage());
-        }
+        int instructorId = currentInstructor.getId();
+        asyncLoader.loadTable("myQuizzes", quizzesTable,
+            () -> quizService.getQuizSummariesByInstructor(instructorId),
+            quizzes -> {
+                resultQuizCombo.setItems(quizzesTable.getItems());
+                System.out.println("Loaded " + quizzes.size() + " quizzes");
+            },
+            e -> showError("Error loading quizzes: " + e.getMessage()));
     }
 
     @FXML
@@ -295,7 +283,7 @@ public class InstructorController {
 
     @FXML
     private void handleDeleteQuiz() {
-        Quiz selected = quizzesTable.getSelectionModel().getSelectedItem();
+        QuizSummary selected = quizzesTable.getSelectionModel().getSelectedItem();
         if (selected == null) {
             showError("Please select a quiz to delete!");
             return;
@@ -320,54 +308,47 @@ public class InstructorController {
 
     @FXML
     private void handleLoadResults() {
-        Quiz selectedQuiz = resultQuizCombo.getValue();
+        QuizSummary selectedQuiz = resultQuizCombo.getValue();
         if (selectedQuiz == null) {
             showError("Please select a quiz first!");
             return;
         }
 
-        try {
-            List<QuizResult> results = quizResultService.getResultsByQuizId(selectedQuiz.getId());
-            ObservableList<QuizResult> resultsList = FXCollections.observableArrayList(results);
-            resultsTable.setItems(resultsList);
-
-            System.out.println("Loaded " + results.size() + " results for quiz: " + selectedQuiz.getTitle());
-            for (QuizResult result : results) {
-                System.out.println("Result - Student: " +
-                    (result.getStudent() != null ? result.getStudent().getName() : "NULL") +
-                    ", Quiz: " + (result.getQuiz() != null ? result.getQuiz().getTitle() : "NULL") +
-                    ", Score: " + result.getScore());
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            showError("Error loading results: " + e.getMessage());
-        }
+        asyncLoader.loadTable("results", resultsTable,
+            () -> quizResultService.getResultsByQuizId(selectedQuiz.getId()),
+            results -> {
+                System.out.println("Loaded " + results.size() + " results for quiz: " + selectedQuiz.getTitle());
+                for (QuizResult result : results) {
+                    System.out.println("Result - Student: " +
+                        (result.getStudent() != null ? result.getStudent().getName() : "NULL") +
+                        ", Quiz: " + (result.getQuiz() != null ? result.getQuiz().getTitle() : "NULL") +
+                        ", Score: " + result.getScore());
+                }
+            },
+            e -> {
+                e.printStackTrace();
+                showError("Error loading results: " + e.getMessage());
+            });
     }
 
     @FXML
     private void handleViewAllResults() {
-        try {
-            List<Quiz> myQuizzes = quizService.getQuizzesByInstructor(currentInstructor.getId());
-            ObservableList<QuizResult> allResults = FXCollections.observableArrayList();
-
-            for (Quiz quiz : myQuizzes) {
-                List<QuizResult> results = quizResultService.getResultsByQuizId(quiz.getId());
-                allResults.addAll(results);
-            }
-
-            resultsTable.setItems(allResults);
-
-            System.out.println("Loaded " + allResults.size() + " total results");
-            for (QuizResult result : allResults) {
-                System.out.println("Result - Student: " +
-                    (result.getStudent() != null ? result.getStudent().getName() : "NULL") +
-                    ", Quiz: " + (result.getQuiz() != null ? result.getQuiz().getTitle() : "NULL") +
-                    ", Score: " + result.getScore());
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            showError("Error loading all results: " + e.getMessage());
-        }
+        int instructorId = currentInstructor.getId();
+        asyncLoader.loadTable("results", resultsTable,
+            () -> quizResultService.getResultsByInstructorId(instructorId),
+            allResults -> {
+                System.out.println("Loaded " + allResults.size() + " total results");
+                for (QuizResult result : allResults) {
+                    System.out.println("Result - Student: " +
+                        (result.getStudent() != null ? result.getStudent().getName() : "NULL") +
+                        ", Quiz: " + (result.getQuiz() != null ? result.getQuiz().getTitle() : "NULL") +
+                        ", Score: " + result.getScore());
+                }
+            },
+            e -> {
+                e.printStackTrace();
+                showError("Error loading all results: " + e.getMessage());
+            });
     }
 
     // ==================== UTILITY METHODS ====================
@@ -432,6 +413,7 @@ public class InstructorController {
 
         Optional<ButtonType> result = confirm.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
+            asyncLoader.cancelAll();
             App.showLoginScreen();
         }
     }
@@ -4,7 +4,7 @@ import com.ums.system.App;
 import com.ums.system.model.*;
 import com.ums.system.service.*;
 import com.ums.system.util.ServiceLocator;
-import com.ums.system.utils.PasswordUtil;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -29,16 +29,11 @@ public class LoginController {
     @FXML
     private ProgressIndicator progressIndicator;
 
-    private AdminService adminService;
-    private InstructorService instructorService;
-    private StudentService studentService;
+    private AuthService authService;
 
     @FXML
     public void initialize() {
-        ServiceLocator serviceLocator = ServiceLocator.getInstance();
-        adminService = serviceLocator.getAdminService();
-        instructorService = serviceLocator.getInstructorService();
-        studentService = serviceLocator.getStudentService();
+        authService = ServiceLocator.getInstance().getAuthService();
 
         progressIndicator.setVisible(false);
 
@@ -63,46 +58,23 @@ public class LoginController {
         progressIndicator.setVisible(true);
         loginButton.setDisable(true);
 
-        new Thread(() -> {
-            User loggedInUser = authenticateUser(email, password);
-
-            javafx.application.Platform.runLater(() -> {
-                progressIndicator.setVisible(false);
-                loginButton.setDisable(false);
-
-                if (loggedInUser != null) {
-                    onLoginSuccess(loggedInUser);
-                } else {
-                    showError("Invalid email or password!");
-                }
-            });
-        }).start();
-    }
-
-    private User authenticateUser(String email, String password) {
-        try {
-            Admin admin = adminService.getAdminByEmail(email);
-            if (admin != null && PasswordUtil.verifyPassword(password, admin.getPassword())) {
-                System.out.println("Admin login successful: " + admin.getName());
-                return admin;
-            }
-            Instructor instructor = instructorService.getInstructorByEmail(email);
-            if (instructor != null && PasswordUtil.verifyPassword(password, instructor.getPassword())) {
-                System.out.println("Instructor login successful: " + instructor.getName());
-                return instructor;
-            }
-            Student student = studentService.getStudentByEmail(email);
-            if (student != null && PasswordUtil.verifyPassword(password, student.getPassword())) {
-                System.out.println("Student login successful: " + student.getName());
-                return student;
-            }
-
-        } catch (Exception e) {
-            System.err.println("Login error: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        return null;
+        authService.authenticateAsync(email, password).whenComplete((loggedInUser, error) ->
+                Platform.runLater(() -> {
+                    progressIndicator.setVisible(false);
+                    loginButton.setDisable(false);
+
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        System.err.println("Login error: " + cause.getMessage());
+                        showError(cause instanceof IllegalStateException
+                                ? cause.getMessage()
+                                : "Login failed, please try again");
+                    } else if (loggedInUser != null) {
+                        onLoginSuccess(loggedInUser);
+                    } else {
+                        showError("Invalid email or password!");
+                    }
+                }));
     }
 
     private void onLoginSuccess(User user) {
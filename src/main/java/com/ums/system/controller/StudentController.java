@@ -3,8 +3,11 @@ package com.ums.system.controller;
 import com.ums.system.App;
 import com.ums.system.model.*;
 import com.ums.system.service.*;
+import com.ums.system.util.AsyncLoader;
+import com.ums.system.util.PagedTableLoader;
 import com.ums.system.util.ServiceLocator;
 import com.ums.system.dao.*;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -15,6 +18,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class StudentController {
 
@@ -55,12 +59,12 @@ public class StudentController {
     @FXML private TableColumn<Payment, String> paymentDateColumn;
 
     @FXML private ComboBox<Course> quizCourseCombo;
-    @FXML private TableView<Quiz> quizzesTable;
-    @FXML private TableColumn<Quiz, Integer> quizIdColumn;
-    @FXML private TableColumn<Quiz, String> quizTitleColumn;
-    @FXML private TableColumn<Quiz, String> quizCourseColumn;
-    @FXML private TableColumn<Quiz, String> quizCourseNameColumn;
-    @FXML private TableColumn<Quiz, Integer> quizQuestionsColumn;
+    @FXML private TableView<QuizSummary> quizzesTable;
+    @FXML private TableColumn<QuizSummary, Integer> quizIdColumn;
+    @FXML private TableColumn<QuizSummary, String> quizTitleColumn;
+    @FXML private TableColumn<QuizSummary, String> quizCourseColumn;
+    @FXML private TableColumn<QuizSummary, String> quizCourseNameColumn;
+    @FXML private TableColumn<QuizSummary, Integer> quizQuestionsColumn;
 
     @FXML private TableView<QuizResult> gradesTable;
     @FXML private TableColumn<QuizResult, String> gradeQuizTitleColumn;
@@ -77,7 +81,10 @@ public class StudentController {
     private QuizResultService quizResultService;
     private EnrollmentDAO enrollmentDAO;
     private PaymentService paymentService;
+    private StudentDashboardService dashboardService;
     private com.ums.system.utils.ReportGenerator reportGenerator;
+    private final AsyncLoader asyncLoader = new AsyncLoader();
+    private PagedTableLoader<Course, String> availableCoursesPager;
 
     @FXML
     public void initialize() {
@@ -87,7 +94,11 @@ public class StudentController {
         quizService = serviceLocator.getQuizService();
         quizResultService = serviceLocator.getQuizResultService();
         enrollmentDAO = serviceLocator.getEnrollmentDAO();
-        paymentService = new PaymentServiceImpl(serviceLocator.getConnection());
+        paymentService = serviceLocator.getPaymentService();
+        dashboardService = serviceLocator.getStudentDashboardService();
+
+        availableCoursesPager = new PagedTableLoader<>(asyncLoader, "availableCourses", availableCoursesTable,
+            Course::getCode, e -> showError("Error loading courses: " + e.getMessage()));
 
         setupAvailableCoursesTable();
         setupMyCoursesTable();
@@ -102,6 +113,7 @@ public class StudentController {
         userInfoLabel.setText("Role: Student | ID: " + student.getId() +
                             " | Level: " + student.getLevel());
 
+        // Each of these only starts a background load, so they run concurrently
         updateDashboardStatistics();
         checkPaymentStatus();
         loadPaymentHistory();
@@ -118,20 +130,7 @@ public class StudentController {
         availCourseLectureTimeColumn.setCellValueFactory(new PropertyValueFactory<>("lectureTime"));
 
         availCourseInstructorColumn.setCellValueFactory(cellData -> {
-            Course course = cellData.getValue();
-            int instructorId = course.getInstructorId();
-
-            try {
-                InstructorService instructorService = ServiceLocator.getInstance().getInstructorService();
-                Instructor instructor = instructorService.getInstructorById(instructorId);
-                if (instructor != null) {
-                    return new javafx.beans.property.SimpleStringProperty(instructor.getName());
-                } else {
-                    return new javafx.beans.property.SimpleStringProperty("N/A");
-                }
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty("Error");
-            }
+            return new javafx.beans.property.SimpleStringProperty(instructorNameOf(cellData.getValue()));
         });
     }
 
@@ -143,23 +142,16 @@ public class StudentController {
         myCourseLectureTimeColumn.setCellValueFactory(new PropertyValueFactory<>("lectureTime"));
 
         myCourseInstructorColumn.setCellValueFactory(cellData -> {
-            Course course = cellData.getValue();
-            int instructorId = course.getInstructorId();
-
-            try {
-                InstructorService instructorService = ServiceLocator.getInstance().getInstructorService();
-                Instructor instructor = instructorService.getInstructorById(instructorId);
-                if (instructor != null) {
-                    return new javafx.beans.property.SimpleStringProperty(instructor.getName());
-                } else {
-                    return new javafx.beans.property.SimpleStringProperty("N/A");
-                }
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty("Error");
-            }
+            return new javafx.beans.property.SimpleStringProperty(instructorNameOf(cellData.getValue()));
         });
     }
 
+    // The course queries join the name in; courses without an instructor have none
+    private String instructorNameOf(Course course) {
+        String name = course.getInstructorName();
+        return name != null ? name : "N/A";
+    }
+
     private void setupPaymentTable() {
         paymentIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
         paymentLevelColumn.setCellValueFactory(new PropertyValueFactory<>("level"));
@@ -204,22 +196,8 @@ public class StudentController {
         quizIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
         quizTitleColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
         quizCourseColumn.setCellValueFactory(new PropertyValueFactory<>("courseCode"));
-        quizCourseNameColumn.setCellValueFactory(cellData -> {
-            Quiz quiz = cellData.getValue();
-            String courseCode = quiz.getCourseCode();
-
-            try {
-                Course course = courseService.getCourseByCode(courseCode);
-                return new javafx.beans.property.SimpleStringProperty(course != null ? course.getCourseName() : "N/A");
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty("N/A");
-            }
-        });
-        quizQuestionsColumn.setCellValueFactory(cellData -> {
-            Quiz quiz = cellData.getValue();
-            int count = quiz.getQuestions() != null ? quiz.getQuestions().size() : 0;
-            return new javafx.beans.property.SimpleIntegerProperty(count).asObject();
-        });
+        quizCourseNameColumn.setCellValueFactory(new PropertyValueFactory<>("courseName"));
+        quizQuestionsColumn.setCellValueFactory(new PropertyValueFactory<>("questionCount"));
     }
 
     private void setupGradesTable() {
@@ -266,41 +244,45 @@ public class StudentController {
     }
 
     private void checkPaymentStatus() {
-        try {
-            int studentLevel = currentStudent.getLevel();
-            boolean hasPaid = paymentService.hasUserPaidForLevel(currentStudent.getId(), studentLevel);
-            double levelFee = paymentService.calculateLevelFee(studentLevel);
-
-            if (hasPaid) {
-                paymentStatusLabel.setText("✅ Payment Status: PAID for Level " + studentLevel);
-                paymentStatusLabel.setStyle("-fx-text-fill: green; -fx-font-size: 16px; -fx-font-weight: bold;");
-                paymentAmountLabel.setText("Level " + studentLevel + " Fee: " + levelFee + " EGP (Paid)");
-                payLevelFeeButton.setDisable(true);
-                payLevelFeeButton.setText("✅ Already Paid");
-            } else {
-                paymentStatusLabel.setText("⚠️ Payment Status: NOT PAID for Level " + studentLevel);
-                paymentStatusLabel.setStyle("-fx-text-fill: red; -fx-font-size: 16px; -fx-font-weight: bold;");
-                paymentAmountLabel.setText("Level " + studentLevel + " Fee: " + levelFee + " EGP (Due)");
-                payLevelFeeButton.setDisable(false);
-                payLevelFeeButton.setText("💳 Pay Level Fee");
-            }
-        } catch (Exception e) {
-            paymentStatusLabel.setText("❌ Error checking payment status");
-            paymentStatusLabel.setStyle("-fx-text-fill: orange;");
-            showError("Error checking payment status: " + e.getMessage());
-        }
+        int studentLevel = currentStudent.getLevel();
+        int studentId = currentStudent.getId();
+        paymentStatusLabel.setText("Checking payment status...");
+        paymentStatusLabel.setStyle("-fx-text-fill: gray; -fx-font-size: 16px;");
+        payLevelFeeButton.setDisable(true);
+
+        asyncLoader.load("paymentStatus",
+            () -> paymentService.hasUserPaidForLevel(studentId, studentLevel),
+            hasPaid -> {
+                double levelFee = paymentService.calculateLevelFee(studentLevel);
+
+                if (hasPaid) {
+                    paymentStatusLabel.setText("✅ Payment Status: PAID for Level " + studentLevel);
+                    paymentStatusLabel.setStyle("-fx-text-fill: green; -fx-font-size: 16px; -fx-font-weight: bold;");
+                    paymentAmountLabel.setText("Level " + studentLevel + " Fee: " + levelFee + " EGP (Paid)");
+                    payLevelFeeButton.setDisable(true);
+                    payLevelFeeButton.setText("✅ Already Paid");
+                } else {
+                    paymentStatusLabel.setText("⚠️ Payment Status: NOT PAID for Level " + studentLevel);
+                    paymentStatusLabel.setStyle("-fx-text-fill: red; -fx-font-size: 16px; -fx-font-weight: bold;");
+                    paymentAmountLabel.setText("Level " + studentLevel + " Fee: " + levelFee + " EGP (Due)");
+                    payLevelFeeButton.setDisable(false);
+                    payLevelFeeButton.setText("💳 Pay Level Fee");
+                }
+            },
+            e -> {
+                paymentStatusLabel.setText("❌ Error checking payment status");
+                paymentStatusLabel.setStyle("-fx-text-fill: orange;");
+                showError("Error checking payment status: " + e.getMessage());
+            });
     }
 
     @FXML
     private void loadPaymentHistory() {
-        try {
-            List<Payment> payments = paymentService.getPaymentsByUserId(currentStudent.getId());
-            ObservableList<Payment> paymentsList = FXCollections.observableArrayList(payments);
-            paymentHistoryTable.setItems(paymentsList);
-            System.out.println("Loaded " + payments.size() + " payment records");
-        } catch (Exception e) {
-            showError("Error loading payment history: " + e.getMessage());
-        }
+        int studentId = currentStudent.getId();
+        asyncLoader.loadTable("paymentHistory", paymentHistoryTable,
+            () -> paymentService.getPaymentsByUserId(studentId),
+            payments -> System.out.println("Loaded " + payments.size() + " payment records"),
+            e -> showError("Error loading payment history: " + e.getMessage()));
     }
 
     @FXML
@@ -347,22 +329,23 @@ public class StudentController {
         processingAlert.setContentText("Processing your level fee payment...\nThis may take a few seconds.");
         processingAlert.show();
 
-        new Thread(() -> {
-            try {
-                PaymentRequest request = new PaymentRequest(
-                    currentStudent.getId(),
-                    level,
-                    amount,
-                    "EGP",
-                    "Level " + level + " tuition fee",
-                    method
-                );
+        PaymentRequest request = new PaymentRequest(
+            currentStudent.getId(),
+            level,
+            amount,
+            "EGP",
+            "Level " + level + " tuition fee",
+            method
+        );
 
-                Payment payment = paymentService.processPayment(request);
+        paymentService.processPaymentAsync(request).whenComplete((payment, error) ->
+            javafx.application.Platform.runLater(() -> {
+                processingAlert.close();
 
-                javafx.application.Platform.runLater(() -> {
-                    processingAlert.close();
+                Throwable cause = (error instanceof java.util.concurrent.CompletionException && error.getCause() != null)
+                        ? error.getCause() : error;
 
+                if (cause == null) {
                     if ("SUCCESS".equals(payment.getStatus())) {
                         Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
                         successAlert.setTitle("Payment Successful");
@@ -378,6 +361,7 @@ public class StudentController {
 
                         checkPaymentStatus();
                         loadPaymentHistory();
+                        refreshDashboard();
 
                     } else {
                         Alert failAlert = new Alert(Alert.AlertType.ERROR);
@@ -388,30 +372,33 @@ public class StudentController {
                             "Please try again or contact administration."
                         );
                         failAlert.showAndWait();
+                        loadPaymentHistory();
                     }
-                });
-
-            } catch (IllegalArgumentException e) {
-                javafx.application.Platform.runLater(() -> {
-                    processingAlert.close();
+                } else if (cause instanceof IllegalArgumentException) {
                     Alert warningAlert = new Alert(Alert.AlertType.WARNING);
                     warningAlert.setTitle("Payment Not Allowed");
                     warningAlert.setHeaderText("Payment Issue");
-                    warningAlert.setContentText(e.getMessage());
+                    warningAlert.setContentText(cause.getMessage());
                     warningAlert.showAndWait();
                     checkPaymentStatus();
-                });
-            } catch (Exception e) {
-                javafx.application.Platform.runLater(() -> {
-                    processingAlert.close();
+                } else if (cause instanceof java.util.concurrent.TimeoutException) {
+                    Alert pendingAlert = new Alert(Alert.AlertType.WARNING);
+                    pendingAlert.setTitle("Payment Pending");
+                    pendingAlert.setHeaderText("Payment is taking longer than expected");
+                    pendingAlert.setContentText(
+                        "Your payment is still being processed.\n" +
+                        "Check your payment history shortly before trying again."
+                    );
+                    pendingAlert.showAndWait();
+                    loadPaymentHistory();
+                } else {
                     Alert errorAlert = new Alert(Alert.AlertType.ERROR);
                     errorAlert.setTitle("Error");
                     errorAlert.setHeaderText("An error occurred");
-                    errorAlert.setContentText(e.getMessage());
+                    errorAlert.setContentText(cause.getMessage());
                     errorAlert.showAndWait();
-                });
-            }
-        }).start();
+                }
+            }));
     }
 
     private boolean checkPaymentBeforeQuizAccess() {
@@ -453,46 +440,22 @@ public class StudentController {
 
     @FXML
     private void loadAvailableCourses() {
-        try {
-            List<Course> allCourses = courseService.getAllCourses();
-
-            List<Course> enrolledCourses = enrollmentDAO.getCoursesByStudentId(currentStudent.getId());
-
-            java.util.Set<String> enrolledCourseCodes = enrolledCourses.stream()
-                .map(Course::getCode)
-                .collect(java.util.stream.Collectors.toSet());
-
-            List<Course> filteredCourses = allCourses.stream()
-                .filter(course -> {
-                    boolean levelMatches = course.getLevel().equals(String.valueOf(currentStudent.getLevel()));
-
-                    boolean majorMatches = course.getMajor().equalsIgnoreCase(currentStudent.getMajor());
-
-                    boolean notEnrolled = !enrolledCourseCodes.contains(course.getCode());
-
-                    return levelMatches && majorMatches && notEnrolled;
-                })
-                .collect(java.util.stream.Collectors.toList());
-
-            ObservableList<Course> coursesList = FXCollections.observableArrayList(filteredCourses);
-            availableCoursesTable.setItems(coursesList);
-            System.out.println("Loaded " + filteredCourses.size() + " available courses for level "
-                + currentStudent.getLevel() + " and major " + currentStudent.getMajor());
-
-            if (filteredCourses.isEmpty()) {
-                Label placeholder = new Label("No available courses to enroll.\n\n" +
-                        "All courses for your level (" + currentStudent.getLevel() + ") and major (" +
-                        currentStudent.getMajor() + ") are already enrolled or there are no courses matching your criteria.");
-                placeholder.setStyle("-fx-text-fill: #666; -fx-font-size: 14px; -fx-text-alignment: center;");
-                placeholder.setWrapText(true);
-                placeholder.setMaxWidth(600);
-                availableCoursesTable.setPlaceholder(placeholder);
-            } else {
-                availableCoursesTable.setPlaceholder(new Label("No courses available"));
-            }
-        } catch (Exception e) {
-            showError("Error loading courses: " + e.getMessage());
-        }
+        int studentId = currentStudent.getId();
+        String studentLevel = String.valueOf(currentStudent.getLevel());
+        String studentMajor = currentStudent.getMajor();
+
+        // Shown whenever the query finds nothing, so it is set before loading
+        Label placeholder = new Label("No available courses to enroll.\n\n" +
+                "All courses for your level (" + studentLevel + ") and major (" +
+                studentMajor + ") are already enrolled or there are no courses matching your criteria.");
+        placeholder.setStyle("-fx-text-fill: #666; -fx-font-size: 14px; -fx-text-alignment: center;");
+        placeholder.setWrapText(true);
+        placeholder.setMaxWidth(600);
+        availableCoursesTable.setPlaceholder(placeholder);
+
+        // Level, major and enrollment are matched in the database, a page at a time
+        availableCoursesPager.reload((afterCode, limit) ->
+            courseService.getAvailableCoursesPage(studentId, afterCode, limit));
     }
 
     @FXML
@@ -503,20 +466,6 @@ public class StudentController {
             return;
         }
 
-        try {
-            List<Course> enrolledCourses = enrollmentDAO.getCoursesByStudentId(currentStudent.getId());
-            boolean alreadyEnrolled = enrolledCourses.stream()
-                .anyMatch(course -> course.getCode().equals(selected.getCode()));
-
-            if (alreadyEnrolled) {
-                showError("You are already enrolled in: " + selected.getCourseName());
-                return;
-            }
-        } catch (Exception e) {
-            showError("Error checking enrollment status: " + e.getMessage());
-            return;
-        }
-
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Confirm Enrollment");
         confirm.setHeaderText("Enroll in Course");
@@ -525,10 +474,15 @@ public class StudentController {
         Optional<ButtonType> result = confirm.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
-                enrollmentDAO.enrollStudentInCourse(currentStudent.getId(), selected.getCode());
-                showInfo("Successfully enrolled in: " + selected.getCourseName());
+                EnrollmentOutcome outcome = enrollmentDAO.enrollStudentInCourse(currentStudent.getId(), selected.getCode());
+                if (outcome.isSuccess()) {
+                    showInfo("Successfully enrolled in: " + selected.getCourseName());
+                } else {
+                    showError("Could not enroll in " + selected.getCourseName() + ": " + outcome.getMessage());
+                }
                 loadMyCourses();
                 loadAvailableCourses();
+                refreshDashboard();
 
             } catch (Exception e) {
                 showError("Error enrolling in course: " + e.getMessage());
@@ -538,31 +492,29 @@ public class StudentController {
 
     @FXML
     private void loadMyCourses() {
-        try {
-            List<Course> courses = enrollmentDAO.getCoursesByStudentId(currentStudent.getId());
-            ObservableList<Course> coursesList = FXCollections.observableArrayList(courses);
-            myCoursesTable.setItems(coursesList);
-
-            quizCourseCombo.setItems(coursesList);
-            quizCourseCombo.setConverter(new javafx.util.StringConverter<Course>() {
-                @Override
-                public String toString(Course course) {
-                    if (course == null) {
-                        return null;
+        int studentId = currentStudent.getId();
+        asyncLoader.loadTable("myCourses", myCoursesTable,
+            () -> enrollmentDAO.getCoursesByStudentId(studentId),
+            courses -> {
+                quizCourseCombo.setItems(myCoursesTable.getItems());
+                quizCourseCombo.setConverter(new javafx.util.StringConverter<Course>() {
+                    @Override
+                    public String toString(Course course) {
+                        if (course == null) {
+                            return null;
+                        }
+                        return course.getCode() + " - " + course.getCourseName();
                     }
-                    return course.getCode() + " - " + course.getCourseName();
-                }
 
-                @Override
-                public Course fromString(String string) {
-                    return null;
-                }
-            });
+                    @Override
+                    public Course fromString(String string) {
+                        return null;
+                    }
+                });
 
-            System.out.println("Loaded " + courses.size() + " enrolled courses");
-        } catch (Exception e) {
-            showError("Error loading enrolled courses: " + e.getMessage());
-        }
+                System.out.println("Loaded " + courses.size() + " enrolled courses");
+            },
+            e -> showError("Error loading enrolled courses: " + e.getMessage()));
     }
 
     @FXML
@@ -584,6 +536,7 @@ public class StudentController {
                 enrollmentDAO.removeStudentFromCourse(currentStudent.getId(), selected.getCode());
                 showInfo("Successfully dropped: " + selected.getCourseName());
                 loadMyCourses();
+                refreshDashboard();
 
             } catch (Exception e) {
                 showError("Error dropping course: " + e.getMessage());
@@ -604,8 +557,8 @@ public class StudentController {
         }
 
         try {
-            List<Quiz> quizzes = quizService.getQuizzesByCourseCode(selectedCourse.getCode());
-            ObservableList<Quiz> quizzesList = FXCollections.observableArrayList(quizzes);
+            List<QuizSummary> quizzes = quizService.getQuizSummariesByCourseCode(selectedCourse.getCode());
+            ObservableList<QuizSummary> quizzesList = FXCollections.observableArrayList(quizzes);
             quizzesTable.setItems(quizzesList);
             System.out.println("Loaded " + quizzes.size() + " quizzes for course: " + selectedCourse.getCourseName());
         } catch (Exception e) {
@@ -619,13 +572,20 @@ public class StudentController {
             return;
         }
 
-        Quiz selected = quizzesTable.getSelectionModel().getSelectedItem();
+        QuizSummary selected = quizzesTable.getSelectionModel().getSelectedItem();
         if (selected == null) {
             showError("Please select a quiz to take!");
             return;
         }
 
-        if (selected.getQuestions() == null || selected.getQuestions().isEmpty()) {
+        // Every taker of this quiz gets the same cached definition
+        Quiz quiz = quizService.getQuizById(selected.getId());
+        if (quiz == null) {
+            showError("This quiz is no longer available!");
+            return;
+        }
+
+        if (quiz.getQuestions() == null || quiz.getQuestions().isEmpty()) {
             showError("This quiz has no questions!");
             return;
         }
@@ -637,7 +597,7 @@ public class StudentController {
             javafx.scene.Parent root = loader.load();
 
             TakeQuizController controller = loader.getController();
-            controller.setQuizData(selected, currentStudent);
+            controller.setQuizData(quiz, currentStudent);
 
             javafx.stage.Stage quizStage = new javafx.stage.Stage();
             quizStage.setTitle("Take Quiz - " + selected.getTitle());
@@ -649,7 +609,18 @@ public class StudentController {
             quizStage.initModality(javafx.stage.Modality.APPLICATION_MODAL);
             quizStage.initOwner(quizzesTable.getScene().getWindow());
 
-            quizStage.setOnHidden(event -> loadMyGrades());
+            quizStage.setOnHidden(event -> {
+                CompletableFuture<Void> submission = controller.getSubmission();
+                if (submission == null) {
+                    return;
+                }
+                // The result is saved in the background; reloading before it is committed
+                // would show (and cache) the figures from before the quiz
+                submission.whenComplete((saved, error) -> Platform.runLater(() -> {
+                    refreshDashboard();
+                    loadMyGrades();
+                }));
+            });
 
             quizStage.show();
 
@@ -666,13 +637,8 @@ public class StudentController {
         }
 
         try {
-            List<Course> myCourses = enrollmentDAO.getCoursesByStudentId(currentStudent.getId());
-            ObservableList<Quiz> allQuizzes = FXCollections.observableArrayList();
-
-            for (Course course : myCourses) {
-                List<Quiz> quizzes = quizService.getQuizzesByCourseCode(course.getCode());
-                allQuizzes.addAll(quizzes);
-            }
+            ObservableList<QuizSummary> allQuizzes = FXCollections.observableArrayList(
+                quizService.getQuizSummariesByStudent(currentStudent.getId()));
 
             quizzesTable.setItems(allQuizzes);
             System.out.println("Loaded " + allQuizzes.size() + " total quizzes");
@@ -683,26 +649,24 @@ public class StudentController {
 
     @FXML
     private void loadMyGrades() {
-        try {
-            List<QuizResult> results = quizResultService.getResultsByStudentId(currentStudent.getId());
-            ObservableList<QuizResult> resultsList = FXCollections.observableArrayList(results);
-            gradesTable.setItems(resultsList);
-
-            if (!results.isEmpty()) {
-                Student updatedStudent = studentService.getStudentById(currentStudent.getId());
-                if (updatedStudent != null) {
-                    averageScoreLabel.setText(String.format("Average Score: %.2f%%", updatedStudent.getGrade()));
+        int studentId = currentStudent.getId();
+        averageScoreLabel.setText("Average Score: ...");
+
+        asyncLoader.loadTable("myGrades", gradesTable,
+            () -> quizResultService.getResultsByStudentId(studentId),
+            results -> System.out.println("Loaded " + results.size() + " quiz results"),
+            e -> showError("Error loading grades: " + e.getMessage()));
+
+        asyncLoader.load("averageScore",
+            () -> dashboardService.getDashboard(studentId),
+            dashboard -> {
+                if (dashboard != null) {
+                    averageScoreLabel.setText(String.format("Average Score: %.2f%%", dashboard.getAverageGrade()));
                 } else {
                     averageScoreLabel.setText("Average Score: N/A");
                 }
-            } else {
-                averageScoreLabel.setText("Average Score: 0.00%");
-            }
-
-            System.out.println("Loaded " + results.size() + " quiz results");
-        } catch (Exception e) {
-            showError("Error loading grades: " + e.getMessage());
-        }
+            },
+            e -> averageScoreLabel.setText("Average Score: N/A"));
     }
 
     @FXML
@@ -818,29 +782,26 @@ public class StudentController {
     }
 
     private void updateDashboardStatistics() {
-        try {
-            List<Course> enrolledCourses = enrollmentDAO.getCoursesByStudentId(currentStudent.getId());
-            int totalCourses = enrolledCourses.size();
-            totalCoursesLabel.setText(String.valueOf(totalCourses));
+        int studentId = currentStudent.getId();
 
-            List<QuizResult> myResults = quizResultService.getResultsByStudentId(currentStudent.getId());
-            int completedQuizzes = myResults.size();
+        totalCoursesLabel.setText("...");
+        completedQuizzesLabel.setText("...");
+        paymentStatusShortLabel.setText("...");
+        averageGradeLabel.setText(String.format("%.2f%%", currentStudent.getGrade()));
 
-            int totalAvailableQuizzes = 0;
-            for (Course course : enrolledCourses) {
-                List<Quiz> courseQuizzes = quizService.getQuizzesByCourseCode(course.getCode());
-                totalAvailableQuizzes += courseQuizzes.size();
+        asyncLoader.load("dashboard", () -> {
+            StudentDashboard dashboard = dashboardService.getDashboard(studentId);
+            if (dashboard == null) {
+                throw new IllegalStateException("Student " + studentId + " not found");
             }
-            completedQuizzesLabel.setText(completedQuizzes + "/" + totalAvailableQuizzes);
-
-            double averageGrade = currentStudent.getGrade();
-            averageGradeLabel.setText(String.format("%.2f%%", averageGrade));
-
-            boolean hasPaid = paymentService.hasUserPaidForLevel(
-                currentStudent.getId(),
-                currentStudent.getLevel()
-            );
-            if (hasPaid) {
+            return dashboard;
+        }, dashboard -> {
+            totalCoursesLabel.setText(String.valueOf(dashboard.getTotalCourses()));
+            int takenQuizzes = dashboard.getAvailableQuizzes() - dashboard.getPendingQuizzes();
+            completedQuizzesLabel.setText(takenQuizzes + "/" + dashboard.getAvailableQuizzes());
+            averageGradeLabel.setText(String.format("%.2f%%", dashboard.getAverageGrade()));
+
+            if (dashboard.isPaidForLevel()) {
                 paymentStatusShortLabel.setText("✅ PAID");
                 paymentStatusShortLabel.setStyle("-fx-text-fill: white;");
             } else {
@@ -849,14 +810,22 @@ public class StudentController {
             }
 
             System.out.println("Dashboard statistics updated successfully");
-
-        } catch (Exception e) {
+        }, e -> {
             System.err.println("Error updating dashboard statistics: " + e.getMessage());
             totalCoursesLabel.setText("0");
             completedQuizzesLabel.setText("0/0");
             averageGradeLabel.setText("0.00%");
             paymentStatusShortLabel.setText("N/A");
-        }
+        });
+    }
+
+    /**
+     * Drops the cached dashboard summary after the student changed something it
+     * counts, and reloads the cards.
+     */
+    private void refreshDashboard() {
+        dashboardService.invalidate(currentStudent.getId());
+        updateDashboardStatistics();
     }
 
     @FXML
@@ -899,6 +868,7 @@ public class StudentController {
                 welcomeLabel.setText("Welcome, " + currentStudent.getName() + "!");
                 userInfoLabel.setText("Role: Student | ID: " + currentStudent.getId() +
                             " | Level: " + currentStudent.getLevel());
+                dashboardService.invalidate(currentStudent.getId());
             }
 
             updateDashboardStatistics();
@@ -923,6 +893,7 @@ public class StudentController {
 
         Optional<ButtonType> result = confirm.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
+            asyncLoader.cancelAll();
             App.showLoginScreen();
         }
     }
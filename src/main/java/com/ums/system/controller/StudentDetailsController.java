@@ -43,10 +43,9 @@ public class StudentDetailsController {
     @FXML private TableColumn<QuizResult, String> quizDateColumn;
 
     private StudentService studentService;
-    private InstructorService instructorService;
     private EnrollmentDAO enrollmentDAO;
     private QuizResultService quizResultService;
-    private PaymentService paymentService;
+    private StudentDashboardService dashboardService;
 
     private Student currentStudent;
     private Stage previousStage;
@@ -55,10 +54,9 @@ public class StudentDetailsController {
     public void initialize() {
         ServiceLocator serviceLocator = ServiceLocator.getInstance();
         studentService = serviceLocator.getStudentService();
-        instructorService = serviceLocator.getInstructorService();
         enrollmentDAO = serviceLocator.getEnrollmentDAO();
         quizResultService = serviceLocator.getQuizResultService();
-        paymentService = new PaymentServiceImpl(serviceLocator.getConnection());
+        dashboardService = serviceLocator.getStudentDashboardService();
 
         setupCoursesTable();
         setupQuizResultsTable();
@@ -77,18 +75,9 @@ public class StudentDetailsController {
         courseMajorColumn.setCellValueFactory(new PropertyValueFactory<>("major"));
 
         courseInstructorColumn.setCellValueFactory(cellData -> {
-            Course course = cellData.getValue();
-            int instructorId = course.getInstructorId();
-
-            try {
-                Instructor instructor = instructorService.getInstructorById(instructorId);
-                if (instructor != null) {
-                    return new javafx.beans.property.SimpleStringProperty(instructor.getName());
-                }
-            } catch (Exception e) {
-                // Ignore
-            }
-            return new javafx.beans.property.SimpleStringProperty("N/A");
+            // The course query joins the name in; courses without an instructor have none
+            String instructorName = cellData.getValue().getInstructorName();
+            return new javafx.beans.property.SimpleStringProperty(instructorName != null ? instructorName : "N/A");
         });
     }
 
@@ -158,13 +147,13 @@ public class StudentDetailsController {
             majorLabel.setText(currentStudent.getMajor());
             departmentLabel.setText(currentStudent.getDepartmentName() != null ?
                 currentStudent.getDepartmentName().toString() : "N/A");
-            gradeLabel.setText(String.format("%.2f%%", currentStudent.getGrade()));
 
-            boolean hasPaid = paymentService.hasUserPaidForLevel(
-                currentStudent.getId(),
-                currentStudent.getLevel()
-            );
-            if (hasPaid) {
+            // Grade and payment status come from the same summary as the student's dashboard
+            StudentDashboard dashboard = dashboardService.getDashboard(currentStudent.getId());
+            double grade = dashboard != null ? dashboard.getAverageGrade() : currentStudent.getGrade();
+            gradeLabel.setText(String.format("%.2f%%", grade));
+
+            if (dashboard != null && dashboard.isPaidForLevel()) {
                 paymentStatusLabel.setText("✅ PAID");
                 paymentStatusLabel.setStyle("-fx-text-fill: green; -fx-font-weight: bold;");
             } else {
@@ -181,7 +170,7 @@ public class StudentDetailsController {
             ObservableList<QuizResult> resultsList = FXCollections.observableArrayList(results);
             quizResultsTable.setItems(resultsList);
 
-            averageScoreLabel.setText(String.format("Average: %.2f%%", currentStudent.getGrade()));
+            averageScoreLabel.setText(String.format("Average: %.2f%%", grade));
 
             System.out.println("Loaded details for student: " + currentStudent.getName());
 
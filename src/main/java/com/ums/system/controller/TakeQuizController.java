@@ -14,6 +14,7 @@ import javafx.stage.Stage;
 import javafx.util.Duration;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class TakeQuizController {
 
@@ -37,6 +38,8 @@ public class TakeQuizController {
     private Course course;
     private List<Question> questions;
     private Map<Question, String> answers;
+    // Question id to chosen option index, used for grading
+    private Map<Integer, Integer> chosenOptions;
     private int currentQuestionIndex;
     private ToggleGroup optionsGroup;
 
@@ -44,16 +47,21 @@ public class TakeQuizController {
     private int remainingSeconds;
     private static final int QUIZ_TIME_MINUTES = 15;
 
-    private QuizResultService quizResultService;
+    private SubmissionQueueService submissionQueue;
+    // Completes once the submitted result is committed; null until the quiz is submitted
+    private CompletableFuture<Void> submission;
+    private GradingService gradingService;
     private CourseService courseService;
 
     @FXML
     public void initialize() {
         ServiceLocator serviceLocator = ServiceLocator.getInstance();
-        quizResultService = serviceLocator.getQuizResultService();
+        submissionQueue = serviceLocator.getSubmissionQueue();
+        gradingService = serviceLocator.getGradingService();
         courseService = serviceLocator.getCourseService();
 
         answers = new HashMap<>();
+        chosenOptions = new HashMap<>();
         currentQuestionIndex = 0;
     }
 
@@ -138,7 +146,7 @@ public class TakeQuizController {
             RadioButton radio = new RadioButton();
             radio.setToggleGroup(optionsGroup);
             radio.getStyleClass().add("option-radio");
-            radio.setUserData(optionText);
+            radio.setUserData(i);
 
             Label letterLabel = new Label(optionLetter + ".");
             letterLabel.getStyleClass().add("option-letter");
@@ -170,8 +178,9 @@ public class TakeQuizController {
 
         optionsGroup.selectedToggleProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal != null) {
-                String selectedAnswer = (String) newVal.getUserData();
-                answers.put(question, selectedAnswer);
+                int selectedOption = (Integer) newVal.getUserData();
+                answers.put(question, options.get(selectedOption));
+                chosenOptions.put(question.getId(), selectedOption);
                 updateAnsweredCount();
             }
         });
@@ -279,21 +288,13 @@ public class TakeQuizController {
             timeline.stop();
         }
 
-        int correctAnswers = 0;
-        for (Question question : questions) {
-            String studentAnswer = answers.get(question);
-            if (studentAnswer != null) {
-                int correctIndex = question.getCorrectOptionIndex();
-                String correctAnswer = question.getOptions().get(correctIndex);
-                if (studentAnswer.equals(correctAnswer)) {
-                    correctAnswers++;
-                }
-            }
-        }
+        int correctAnswers = gradingService.grade(quiz, chosenOptions);
 
-        QuizResult result = new QuizResult(currentStudent, quiz, correctAnswers, answers);
+        // Saved in the background, so hand over a copy the view can no longer change
+        QuizResult result = new QuizResult(currentStudent, quiz, correctAnswers, new HashMap<>(answers));
+        result.setChosenOptions(new HashMap<>(chosenOptions));
         try {
-            quizResultService.saveResult(result);
+            submission = submissionQueue.submit(result);
         } catch (Exception e) {
             showError("Error saving quiz result: " + e.getMessage());
             return;
@@ -303,6 +304,14 @@ public class TakeQuizController {
     }
 
 
+    /**
+     * The pending save of the submitted result, or null if the quiz was closed
+     * without submitting.
+     */
+    public CompletableFuture<Void> getSubmission() {
+        return submission;
+    }
+
     private void autoSubmitQuiz() {
         Alert alert = new Alert(Alert.AlertType.WARNING);
         alert.setTitle("Time's Up!");
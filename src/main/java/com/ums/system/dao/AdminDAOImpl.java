@@ -1,25 +1,28 @@
 package com.ums.system.dao;
 
 import com.ums.system.model.Admin;
+import com.ums.system.model.Page;
 import com.ums.system.model.Role;
 
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class AdminDAOImpl implements UserDAO<Admin> {
 
-    private final Connection connection;
+    private final DataSource dataSource;
 
-    public AdminDAOImpl(Connection connection) {
-        this.connection = connection;
+    public AdminDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     // ----------------- Helper Methods -----------------
 
     private boolean adminExistsById(int id) {
         String sql = "SELECT COUNT(*) FROM admins WHERE user_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) return rs.getInt(1) > 0;
@@ -31,7 +34,8 @@ public class AdminDAOImpl implements UserDAO<Admin> {
 
     private boolean emailExists(String email) {
         String sql = "SELECT COUNT(*) FROM users WHERE email = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, email);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) return rs.getInt(1) > 0;
@@ -54,6 +58,7 @@ public class AdminDAOImpl implements UserDAO<Admin> {
         String insertAdmin = "INSERT INTO admins (user_id) VALUES (?)";
 
         try (
+                Connection connection = dataSource.getConnection();
                 PreparedStatement psUser = connection.prepareStatement(insertUser, Statement.RETURN_GENERATED_KEYS);
                 PreparedStatement psAdmin = connection.prepareStatement(insertAdmin)
         ) {
@@ -77,25 +82,24 @@ public class AdminDAOImpl implements UserDAO<Admin> {
         }
     }
 
+    /**
+     * Saves only the changed name, email and password columns; a missing admin
+     * is detected from the affected-row count.
+     */
     @Override
     public void update(Admin admin) {
-        if (!adminExistsById(admin.getId())) {
-            System.out.println("Admin with ID " + admin.getId() + " does not exist.");
+        if (!admin.hasChanges()) {
             return;
         }
 
-        String sql = "UPDATE users SET name=?, email=?, password=? WHERE id=? AND role='ADMIN'";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, admin.getName());
-            ps.setString(2, admin.getEmail());
-            ps.setString(3, admin.getPassword());
-            ps.setInt(4, admin.getId());
-            int updated = ps.executeUpdate();
-
-            if (updated > 0)
+        try (Connection connection = dataSource.getConnection()) {
+            int updated = UserAccountDAOImpl.updateChangedColumns(connection, admin, Role.ADMIN);
+            if (updated > 0) {
+                admin.markSaved();
                 System.out.println("Admin updated successfully.");
-            else
-                System.out.println("Failed to update admin (check ID or role).");
+            } else {
+                System.out.println("Admin with ID " + admin.getId() + " does not exist.");
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -111,7 +115,7 @@ public class AdminDAOImpl implements UserDAO<Admin> {
         String deleteAdmin = "DELETE FROM admins WHERE user_id=?";
         String deleteUser = "DELETE FROM users WHERE id=? AND role='ADMIN'";
 
-        try {
+        try (Connection connection = dataSource.getConnection()) {
             connection.setAutoCommit(false);
 
             try (PreparedStatement psAdmin = connection.prepareStatement(deleteAdmin);
@@ -145,7 +149,8 @@ public class AdminDAOImpl implements UserDAO<Admin> {
             WHERE u.id = ? AND u.role = 'ADMIN'
         """;
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -173,7 +178,8 @@ public class AdminDAOImpl implements UserDAO<Admin> {
             WHERE u.role = 'ADMIN'
         """;
 
-        try (Statement st = connection.createStatement();
+        try (Connection connection = dataSource.getConnection();
+             Statement st = connection.createStatement();
              ResultSet rs = st.executeQuery(sql)) {
             while (rs.next()) {
                 admins.add(new Admin(
@@ -198,7 +204,8 @@ public class AdminDAOImpl implements UserDAO<Admin> {
             WHERE u.email = ? AND u.role = 'ADMIN'
         """;
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, email);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -215,4 +222,43 @@ public class AdminDAOImpl implements UserDAO<Admin> {
         }
         return null;
     }
+
+    /**
+     * Keyset page of admins ordered by id, starting after {@code afterId}
+     * (0 for the first page).
+     */
+    public Page<Admin> getPage(int afterId, int limit) {
+        String sql = """
+            SELECT u.*
+            FROM users u
+            JOIN admins a ON u.id = a.user_id
+            WHERE u.role = 'ADMIN' AND u.id > ?
+            ORDER BY u.id
+            LIMIT ?
+        """;
+
+        List<Admin> admins = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, afterId);
+            ps.setInt(2, limit + 1);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                admins.add(extractAdminFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromOverfetch(admins, limit);
+    }
+
+    static Admin extractAdminFromResultSet(ResultSet rs) throws SQLException {
+        return new Admin(
+                rs.getInt("id"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("password"),
+                Role.valueOf(rs.getString("role"))
+        );
+    }
 }
@@ -1,6 +1,7 @@
 package com.ums.system.dao;
 
 import com.ums.system.model.Course;
+import com.ums.system.model.Page;
 import java.util.List;
 
 public interface CourseDAO {
@@ -11,4 +12,6 @@ public interface CourseDAO {
     List<Course> getAll();
     List<Course> getByInstructorId(int instructorId);
     boolean existsByCode(String code);
+    Page<Course> getPage(String afterCode, int limit, String level, String major);
+    Page<Course> getAvailablePage(int studentId, String afterCode, int limit);
 }
@@ -1,21 +1,27 @@
 package com.ums.system.dao;
 
 import com.ums.system.model.Course;
+import com.ums.system.model.Page;
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class CourseDAOImpl implements CourseDAO {
-    private final Connection connection;
+    // Instructor name comes back in the same row so course tables never look it up per cell
+    static final String INSTRUCTOR_NAME_JOIN = "LEFT JOIN users u ON u.id = c.instructor_id ";
 
-    public CourseDAOImpl(Connection connection) {
-        this.connection = connection;
+    private final DataSource dataSource;
+
+    public CourseDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
     public boolean insert(Course c) {
         String sql = "INSERT INTO courses (code, course_name, level, major, lecture_time, instructor_id) VALUES (?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, c.getCode());
             ps.setString(2, c.getCourseName());
             ps.setString(3, c.getLevel());
@@ -38,7 +44,8 @@ public class CourseDAOImpl implements CourseDAO {
         }
 
         String sql = "UPDATE courses SET course_name=?, level=?, major=?, lecture_time=?, instructor_id=? WHERE code=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, c.getCourseName());
             ps.setString(2, c.getLevel());
             ps.setString(3, c.getMajor());
@@ -59,11 +66,20 @@ public class CourseDAOImpl implements CourseDAO {
             return;
         }
 
-        String sql = "DELETE FROM courses WHERE code=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, code);
-            ps.executeUpdate();
-            System.out.println("Course deleted successfully.");
+        // The course's quizzes and their results cascade away, so re-derive the grades that counted them
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                QuizResultDAOImpl.deleteQuizzesWithTotals(connection, "DELETE FROM courses WHERE code=?",
+                        "SELECT id FROM quizzes WHERE course_code=?", code);
+                connection.commit();
+                System.out.println("Course deleted successfully.");
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -71,21 +87,14 @@ public class CourseDAOImpl implements CourseDAO {
 
     @Override
     public Course getByCode(String code) {
-        String sql = "SELECT * FROM courses WHERE code=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        String sql = "SELECT c.*, u.name AS instructor_name FROM courses c " +
+                     INSTRUCTOR_NAME_JOIN + "WHERE c.code=?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, code);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
-                return new Course(
-                        rs.getString("code"),
-                        rs.getString("course_name"),
-                        rs.getString("level"),
-                        rs.getString("major"),
-                        rs.getString("lecture_time"),
-                        null,
-                        null,
-                        rs.getInt("instructor_id")
-                );
+                return extractCourseFromResultSet(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -96,20 +105,12 @@ public class CourseDAOImpl implements CourseDAO {
     @Override
     public List<Course> getAll() {
         List<Course> courses = new ArrayList<>();
-        String sql = "SELECT * FROM courses";
-        try (Statement st = connection.createStatement();
+        String sql = "SELECT c.*, u.name AS instructor_name FROM courses c " + INSTRUCTOR_NAME_JOIN;
+        try (Connection connection = dataSource.getConnection();
+             Statement st = connection.createStatement();
              ResultSet rs = st.executeQuery(sql)) {
             while (rs.next()) {
-                courses.add(new Course(
-                        rs.getString("code"),
-                        rs.getString("course_name"),
-                        rs.getString("level"),
-                        rs.getString("major"),
-                        rs.getString("lecture_time"),
-                        null,
-                        null,
-                        rs.getInt("instructor_id")
-                ));
+                courses.add(extractCourseFromResultSet(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -120,24 +121,16 @@ public class CourseDAOImpl implements CourseDAO {
     @Override
     public List<Course> getByInstructorId(int instructorId) {
         List<Course> courses = new ArrayList<>();
-        String sql = "SELECT c.*, " +
+        String sql = "SELECT c.*, u.name AS instructor_name, " +
                      "(SELECT COUNT(*) FROM student_courses sc WHERE sc.course_code = c.code) as student_count, " +
                      "(SELECT COUNT(*) FROM quizzes q WHERE q.course_code = c.code) as quiz_count " +
-                     "FROM courses c WHERE c.instructor_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                     "FROM courses c " + INSTRUCTOR_NAME_JOIN + "WHERE c.instructor_id = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, instructorId);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
-                Course course = new Course(
-                        rs.getString("code"),
-                        rs.getString("course_name"),
-                        rs.getString("level"),
-                        rs.getString("major"),
-                        rs.getString("lecture_time"),
-                        null,
-                        null,
-                        rs.getInt("instructor_id")
-                );
+                Course course = extractCourseFromResultSet(rs);
                 course.setStudentCount(rs.getInt("student_count"));
                 course.setQuizCount(rs.getInt("quiz_count"));
                 courses.add(course);
@@ -151,7 +144,8 @@ public class CourseDAOImpl implements CourseDAO {
     @Override
     public boolean existsByCode(String code) {
         String sql = "SELECT 1 FROM courses WHERE code=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, code);
             ResultSet rs = ps.executeQuery();
             return rs.next();
@@ -160,4 +154,88 @@ public class CourseDAOImpl implements CourseDAO {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Page<Course> getPage(String afterCode, int limit, String level, String major) {
+        StringBuilder sql = new StringBuilder("SELECT c.*, u.name AS instructor_name FROM courses c ")
+                .append(INSTRUCTOR_NAME_JOIN)
+                .append("WHERE c.code > ?");
+        List<Object> params = new ArrayList<>();
+        params.add(afterCode != null ? afterCode : "");
+        if (level != null) {
+            sql.append(" AND c.level = ?");
+            params.add(level);
+        }
+        if (major != null) {
+            sql.append(" AND c.major = ?");
+            params.add(major);
+        }
+        sql.append(" ORDER BY c.code LIMIT ?");
+        params.add(limit + 1);
+
+        List<Course> courses = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                courses.add(extractCourseFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromOverfetch(courses, limit);
+    }
+
+    /**
+     * Keyset page of the courses a student can still enroll in: courses for the
+     * student's level and major they are not enrolled in, found with an
+     * anti-join against student_courses. Majors compare under the column
+     * collation, which is case-insensitive like the check it replaces.
+     */
+    @Override
+    public Page<Course> getAvailablePage(int studentId, String afterCode, int limit) {
+        String sql = """
+                SELECT c.*, u.name AS instructor_name
+                FROM students s
+                JOIN courses c ON c.level = CAST(s.level AS CHAR) AND c.major = s.major
+                LEFT JOIN users u ON u.id = c.instructor_id
+                LEFT JOIN student_courses sc ON sc.course_code = c.code AND sc.student_id = s.user_id
+                WHERE s.user_id = ? AND sc.course_code IS NULL AND c.code > ?
+                ORDER BY c.code
+                LIMIT ?
+                """;
+
+        List<Course> courses = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, studentId);
+            ps.setString(2, afterCode != null ? afterCode : "");
+            ps.setInt(3, limit + 1);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                courses.add(extractCourseFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromOverfetch(courses, limit);
+    }
+
+    static Course extractCourseFromResultSet(ResultSet rs) throws SQLException {
+        Course course = new Course(
+                rs.getString("code"),
+                rs.getString("course_name"),
+                rs.getString("level"),
+                rs.getString("major"),
+                rs.getString("lecture_time"),
+                null,
+                null,
+                rs.getInt("instructor_id")
+        );
+        course.setInstructorName(rs.getString("instructor_name"));
+        return course;
+    }
+}
@@ -1,12 +1,16 @@
 package com.ums.system.dao;
 
 import com.ums.system.model.Course;
+import com.ums.system.model.Department;
+import com.ums.system.model.EnrollmentOutcome;
 import com.ums.system.model.Student;
 import java.util.List;
 
 public interface EnrollmentDAO {
-    void enrollStudentInCourse(int studentId, String courseCode);
+    EnrollmentOutcome enrollStudentInCourse(int studentId, String courseCode);
     void removeStudentFromCourse(int studentId, String courseCode);
+    int enrollCohort(String courseCode, Department department);
+    int removeAllFromCourse(String courseCode);
     List<Course> getCoursesByStudentId(int studentId);
     List<Student> getStudentsByCourseCode(String courseCode);
 }
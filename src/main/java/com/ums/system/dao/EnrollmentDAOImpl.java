@@ -2,79 +2,105 @@ package com.ums.system.dao;
 
 import com.ums.system.model.Student;
 import com.ums.system.model.Course;
+import com.ums.system.model.Department;
+import com.ums.system.model.EnrollmentOutcome;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.ArrayList;
 import java.util.List;
 
 public class EnrollmentDAOImpl implements EnrollmentDAO {
 
-    private final Connection connection;
-    private final StudentDAOImpl studentDAO;
-    private final CourseDAOImpl courseDAO;
+    private final DataSource dataSource;
 
-    public EnrollmentDAOImpl(Connection connection) {
-        this.connection = connection;
-        this.studentDAO = new StudentDAOImpl(connection);
-        this.courseDAO = new CourseDAOImpl(connection);
+    public EnrollmentDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
+    /**
+     * Enrolls the student with one conditional INSERT ... SELECT. The row is
+     * only produced when the student and course exist, level and major match
+     * and the student is not enrolled yet, so the checks and the write cannot
+     * interleave with a concurrent attempt. The primary key settles the one
+     * remaining race of two identical inserts. Only a rejected attempt runs a
+     * second query, to work out why.
+     */
     @Override
-    public void enrollStudentInCourse(int studentId, String courseCode) {
-        try {
-
-            if (!courseDAO.existsByCode(courseCode)) {
-                System.err.println("Cannot enroll: Course with code " + courseCode + " does not exist.");
-                return;
+    public EnrollmentOutcome enrollStudentInCourse(int studentId, String courseCode) {
+        String sql = """
+            INSERT INTO student_courses (student_id, course_code)
+            SELECT s.user_id, c.code
+            FROM students s
+            JOIN courses c ON c.code = ? AND c.level = CAST(s.level AS CHAR) AND c.major = s.major
+            WHERE s.user_id = ?
+              AND NOT EXISTS (SELECT 1 FROM student_courses sc
+                              WHERE sc.student_id = s.user_id AND sc.course_code = c.code)
+        """;
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setString(1, courseCode);
+                ps.setInt(2, studentId);
+                if (ps.executeUpdate() > 0) {
+                    return EnrollmentOutcome.ENROLLED;
+                }
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // A concurrent attempt inserted the same row first
+                return EnrollmentOutcome.ALREADY_ENROLLED;
             }
+            return explainRejection(connection, studentId, courseCode);
+        } catch (SQLException e) {
+            System.err.println("Error enrolling student " + studentId + " in course " + courseCode);
+            e.printStackTrace();
+            return EnrollmentOutcome.FAILED;
+        }
+    }
 
-            Student student = studentDAO.getById(studentId);
-            Course course = courseDAO.getByCode(courseCode);
-
-
-            String studentLevel = String.valueOf(student.getLevel());
-            if (!studentLevel.equals(course.getLevel())) {
-                System.err.println("Cannot enroll: Course level (" + course.getLevel() +
-                                 ") does not match student's level (" + studentLevel + ").");
-                return;
+    private EnrollmentOutcome explainRejection(Connection connection, int studentId, String courseCode)
+            throws SQLException {
+        String sql = """
+            SELECT s.user_id AS student_id, s.level AS student_level, s.major AS student_major,
+                   c.code, c.level AS course_level, c.major AS course_major,
+                   EXISTS (SELECT 1 FROM student_courses sc
+                           WHERE sc.student_id = ? AND sc.course_code = ?) AS enrolled
+            FROM (SELECT 1) one
+            LEFT JOIN students s ON s.user_id = ?
+            LEFT JOIN courses c ON c.code = ?
+        """;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, studentId);
+            ps.setString(2, courseCode);
+            ps.setInt(3, studentId);
+            ps.setString(4, courseCode);
+            ResultSet rs = ps.executeQuery();
+            if (!rs.next() || rs.getObject("student_id") == null) {
+                return EnrollmentOutcome.STUDENT_NOT_FOUND;
             }
-
-            if (!student.getMajor().equalsIgnoreCase(course.getMajor())) {
-                System.err.println("Cannot enroll: Course major (" + course.getMajor() +
-                                 ") does not match student's major (" + student.getMajor() + ").");
-                return;
+            if (rs.getString("code") == null) {
+                return EnrollmentOutcome.COURSE_NOT_FOUND;
             }
-
-            String checkSql = "SELECT COUNT(*) FROM student_courses WHERE student_id=? AND course_code=?";
-            try (PreparedStatement checkPs = connection.prepareStatement(checkSql)) {
-                checkPs.setInt(1, studentId);
-                checkPs.setString(2, courseCode);
-                ResultSet rs = checkPs.executeQuery();
-                if (rs.next() && rs.getInt(1) > 0) {
-                    System.err.println("Student is already enrolled in course " + courseCode);
-                    return;
-                }
+            if (rs.getBoolean("enrolled")) {
+                return EnrollmentOutcome.ALREADY_ENROLLED;
             }
-
-            String sql = "INSERT INTO student_courses (student_id, course_code) VALUES (?, ?)";
-            try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                ps.setInt(1, studentId);
-                ps.setString(2, courseCode);
-                ps.executeUpdate();
-                System.out.println("Student " + studentId + " enrolled in course " + courseCode + " successfully.");
+            if (!String.valueOf(rs.getInt("student_level")).equals(rs.getString("course_level"))) {
+                return EnrollmentOutcome.LEVEL_MISMATCH;
             }
-        } catch (SQLException e) {
-            System.err.println("Error enrolling student " + studentId + " in course " + courseCode);
-            e.printStackTrace();
+            String studentMajor = rs.getString("student_major");
+            if (studentMajor == null || !studentMajor.equalsIgnoreCase(rs.getString("course_major"))) {
+                return EnrollmentOutcome.MAJOR_MISMATCH;
+            }
+            // Every condition holds now, so the state changed between the two queries
+            return EnrollmentOutcome.FAILED;
         }
     }
 
     @Override
     public void removeStudentFromCourse(int studentId, String courseCode) {
-        try {
+        try (Connection connection = dataSource.getConnection()) {
             String checkSql = "SELECT COUNT(*) FROM student_courses WHERE student_id=? AND course_code=?";
             try (PreparedStatement checkPs = connection.prepareStatement(checkSql)) {
                 checkPs.setInt(1, studentId);
@@ -98,17 +124,74 @@ public class EnrollmentDAOImpl implements EnrollmentDAO {
         }
     }
 
+    /**
+     * Enrolls every eligible student who is not enrolled yet, optionally only
+     * those of one department, with one INSERT ... SELECT. Eligibility is the
+     * same as for a single enrollment: the course's level and major. Returns
+     * the number of students enrolled, or -1 if the statement failed.
+     */
+    @Override
+    public int enrollCohort(String courseCode, Department department) {
+        StringBuilder sql = new StringBuilder("""
+            INSERT INTO student_courses (student_id, course_code)
+            SELECT s.user_id, c.code
+            FROM courses c
+            JOIN students s ON c.level = CAST(s.level AS CHAR) AND c.major = s.major
+            WHERE c.code = ?
+              AND NOT EXISTS (SELECT 1 FROM student_courses sc
+                              WHERE sc.student_id = s.user_id AND sc.course_code = c.code)
+        """);
+        if (department != null) {
+            sql.append("  AND s.department = ?");
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            ps.setString(1, courseCode);
+            if (department != null) {
+                ps.setString(2, department.name());
+            }
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error enrolling cohort in course " + courseCode);
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Drops the course for every enrolled student. Returns the number of
+     * enrollments removed, or -1 if the statement failed.
+     */
+    @Override
+    public int removeAllFromCourse(String courseCode) {
+        String sql = "DELETE FROM student_courses WHERE course_code = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, courseCode);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Error removing all students from course " + courseCode);
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
     @Override
     public List<Course> getCoursesByStudentId(int studentId) {
         List<Course> courses = new ArrayList<>();
-        String sql = "SELECT course_code FROM student_courses WHERE student_id=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        String sql = """
+            SELECT c.*, u.name AS instructor_name
+            FROM student_courses sc
+            JOIN courses c ON c.code = sc.course_code
+            LEFT JOIN users u ON u.id = c.instructor_id
+            WHERE sc.student_id = ?
+        """;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, studentId);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
-                String courseCode = rs.getString("course_code");
-                Course course = courseDAO.getByCode(courseCode);
-                courses.add(course);
+                courses.add(CourseDAOImpl.extractCourseFromResultSet(rs));
             }
         } catch (SQLException e) {
             System.err.println("Error fetching courses for student " + studentId);
@@ -120,14 +203,19 @@ public class EnrollmentDAOImpl implements EnrollmentDAO {
     @Override
     public List<Student> getStudentsByCourseCode(String courseCode) {
         List<Student> students = new ArrayList<>();
-        String sql = "SELECT student_id FROM student_courses WHERE course_code=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        String sql = """
+            SELECT u.*, s.level, s.major, s.grade, s.department
+            FROM student_courses sc
+            JOIN students s ON s.user_id = sc.student_id
+            JOIN users u ON u.id = s.user_id
+            WHERE sc.course_code = ?
+        """;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, courseCode);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
-                int studentId = rs.getInt("student_id");
-                Student student = studentDAO.getById(studentId);
-                if (student != null) students.add(student);
+                students.add(StudentDAOImpl.extractStudentFromResultSet(rs));
             }
         } catch (SQLException e) {
             System.err.println("Error fetching students for course " + courseCode);
@@ -2,25 +2,28 @@ package com.ums.system.dao;
 
 import com.ums.system.model.Instructor;
 import com.ums.system.model.Department;
+import com.ums.system.model.Page;
 import com.ums.system.model.Role;
 
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class InstructorDAOImpl implements UserDAO<Instructor> {
 
-    private final Connection connection;
+    private final DataSource dataSource;
 
-    public InstructorDAOImpl(Connection connection) {
-        this.connection = connection;
+    public InstructorDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     // ----------------- Helper Methods -----------------
 
     public boolean instructorExistsById(int id) {
         String sql = "SELECT COUNT(*) FROM instructors WHERE user_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) return rs.getInt(1) > 0;
@@ -33,7 +36,8 @@ public class InstructorDAOImpl implements UserDAO<Instructor> {
 
     private boolean emailExists(String email) {
         String sql = "SELECT COUNT(*) FROM users WHERE email = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, email);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) return rs.getInt(1) > 0;
@@ -57,6 +61,7 @@ public class InstructorDAOImpl implements UserDAO<Instructor> {
         String instructorSql = "INSERT INTO instructors (user_id, department) VALUES (?, ?)";
 
         try (
+                Connection connection = dataSource.getConnection();
                 PreparedStatement psUser = connection.prepareStatement(userSql, Statement.RETURN_GENERATED_KEYS);
                 PreparedStatement psInstructor = connection.prepareStatement(instructorSql)
         ) {
@@ -81,31 +86,25 @@ public class InstructorDAOImpl implements UserDAO<Instructor> {
         }
     }
 
+    /**
+     * Saves only the changed name, email and password columns. The department
+     * cannot be changed on a loaded instructor, so the instructors table is
+     * never written here.
+     */
     @Override
     public void update(Instructor i) {
-        if (!instructorExistsById(i.getId())) {
-            System.out.println("Instructor with ID " + i.getId() + " does not exist.");
+        if (!i.hasChanges()) {
             return;
         }
 
-        String userSql = "UPDATE users SET name=?, email=?, password=? WHERE id=? AND role='INSTRUCTOR'";
-        String instructorSql = "UPDATE instructors SET department=? WHERE user_id=?";
-
-        try (
-                PreparedStatement psUser = connection.prepareStatement(userSql);
-                PreparedStatement psInstructor = connection.prepareStatement(instructorSql)
-        ) {
-            psUser.setString(1, i.getName());
-            psUser.setString(2, i.getEmail());
-            psUser.setString(3, i.getPassword());
-            psUser.setInt(4, i.getId());
-            psUser.executeUpdate();
-
-            psInstructor.setString(1, i.getDepartment().toString());
-            psInstructor.setInt(2, i.getId());
-            psInstructor.executeUpdate();
-
-            System.out.println(" Instructor updated successfully.");
+        try (Connection connection = dataSource.getConnection()) {
+            int updated = UserAccountDAOImpl.updateChangedColumns(connection, i, Role.INSTRUCTOR);
+            if (updated > 0) {
+                i.markSaved();
+                System.out.println(" Instructor updated successfully.");
+            } else {
+                System.out.println("Instructor with ID " + i.getId() + " does not exist.");
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -121,13 +120,11 @@ public class InstructorDAOImpl implements UserDAO<Instructor> {
         String deleteInstructor = "DELETE FROM instructors WHERE user_id=?";
         String deleteUser = "DELETE FROM users WHERE id=? AND role='INSTRUCTOR'";
 
-        try {
+        try (Connection connection = dataSource.getConnection()) {
             connection.setAutoCommit(false);
 
-            try (
-                    PreparedStatement psInstructor = connection.prepareStatement(deleteInstructor);
-                    PreparedStatement psUser = connection.prepareStatement(deleteUser)
-            ) {
+            try (PreparedStatement psInstructor = connection.prepareStatement(deleteInstructor);
+                 PreparedStatement psUser = connection.prepareStatement(deleteUser)) {
                 psInstructor.setInt(1, id);
                 psInstructor.executeUpdate();
 
@@ -156,7 +153,8 @@ public class InstructorDAOImpl implements UserDAO<Instructor> {
             WHERE u.id = ? AND u.role = 'INSTRUCTOR'
         """;
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
@@ -186,7 +184,8 @@ public class InstructorDAOImpl implements UserDAO<Instructor> {
             WHERE u.role = 'INSTRUCTOR'
         """;
 
-        try (Statement st = connection.createStatement();
+        try (Connection connection = dataSource.getConnection();
+             Statement st = connection.createStatement();
              ResultSet rs = st.executeQuery(sql)) {
 
             while (rs.next()) {
@@ -213,7 +212,8 @@ public class InstructorDAOImpl implements UserDAO<Instructor> {
             WHERE u.email = ? AND u.role = 'INSTRUCTOR'
         """;
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, email);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
@@ -232,4 +232,51 @@ public class InstructorDAOImpl implements UserDAO<Instructor> {
         }
         return null;
     }
+
+    /**
+     * Keyset page of instructors ordered by id, starting after {@code afterId}
+     * (0 for the first page), optionally limited to one department.
+     */
+    public Page<Instructor> getPage(int afterId, int limit, Department department) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT u.*, i.department
+            FROM users u
+            JOIN instructors i ON u.id = i.user_id
+            WHERE u.role = 'INSTRUCTOR' AND u.id > ?
+        """);
+        List<Object> params = new ArrayList<>();
+        params.add(afterId);
+        if (department != null) {
+            sql.append(" AND i.department = ?");
+            params.add(department.name());
+        }
+        sql.append(" ORDER BY u.id LIMIT ?");
+        params.add(limit + 1);
+
+        List<Instructor> list = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                list.add(extractInstructorFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromOverfetch(list, limit);
+    }
+
+    static Instructor extractInstructorFromResultSet(ResultSet rs) throws SQLException {
+        return new Instructor(
+                rs.getInt("id"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("password"),
+                Role.valueOf(rs.getString("role")),
+                Department.valueOf(rs.getString("department"))
+        );
+    }
 }
@@ -1,6 +1,9 @@
 package com.ums.system.dao;
 
+import com.ums.system.model.Page;
 import com.ums.system.model.Payment;
+import com.ums.system.model.PaymentCriteria;
+import com.ums.system.model.PaymentSummary;
 import java.util.List;
 
 public interface PaymentDAO {
@@ -12,6 +15,10 @@ public interface PaymentDAO {
     boolean hasUserPaidForLevel(int userId, int level);
     List<Payment> findAll();
     boolean update(Payment payment);
+    boolean updateTransactionId(int id, String transactionId);
     boolean delete(int id);
+    PaymentSummary getPaymentSummary();
+    Page<Payment> findPage(int beforeId, int limit, String status, Integer level);
+    Page<Payment> findPage(PaymentCriteria criteria, int beforeId, int limit);
 }
 
@@ -1,16 +1,22 @@
 package com.ums.system.dao;
 
+import com.ums.system.model.Page;
 import com.ums.system.model.Payment;
+import com.ums.system.model.PaymentCriteria;
+import com.ums.system.model.PaymentSummary;
 
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class PaymentDAOImpl implements PaymentDAO {
-    private final Connection connection;
+    private final DataSource dataSource;
 
-    public PaymentDAOImpl(Connection connection) {
-        this.connection = connection;
+    public PaymentDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -19,7 +25,8 @@ public class PaymentDAOImpl implements PaymentDAO {
                     "description, payment_method, transaction_id, status, created_at) " +
                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setInt(1, payment.getUserId());
             ps.setInt(2, payment.getLevel());
             ps.setDouble(3, payment.getAmount());
@@ -49,7 +56,8 @@ public class PaymentDAOImpl implements PaymentDAO {
     public Payment findById(int id) {
         String sql = "SELECT * FROM payments WHERE id = ?";
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
 
@@ -67,7 +75,8 @@ public class PaymentDAOImpl implements PaymentDAO {
         String sql = "SELECT * FROM payments WHERE user_id = ? ORDER BY created_at DESC";
         List<Payment> payments = new ArrayList<>();
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, userId);
             ResultSet rs = ps.executeQuery();
 
@@ -85,7 +94,8 @@ public class PaymentDAOImpl implements PaymentDAO {
         String sql = "SELECT * FROM payments WHERE level = ? ORDER BY created_at DESC";
         List<Payment> payments = new ArrayList<>();
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, level);
             ResultSet rs = ps.executeQuery();
 
@@ -103,7 +113,8 @@ public class PaymentDAOImpl implements PaymentDAO {
         String sql = "SELECT * FROM payments WHERE status = ? ORDER BY created_at DESC";
         List<Payment> payments = new ArrayList<>();
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, status);
             ResultSet rs = ps.executeQuery();
 
@@ -120,7 +131,8 @@ public class PaymentDAOImpl implements PaymentDAO {
     public boolean hasUserPaidForLevel(int userId, int level) {
         String sql = "SELECT COUNT(*) FROM payments WHERE user_id = ? AND level = ? AND status = 'SUCCESS'";
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, userId);
             ps.setInt(2, level);
             ResultSet rs = ps.executeQuery();
@@ -139,7 +151,8 @@ public class PaymentDAOImpl implements PaymentDAO {
         String sql = "SELECT * FROM payments ORDER BY created_at DESC";
         List<Payment> payments = new ArrayList<>();
 
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
@@ -157,7 +170,8 @@ public class PaymentDAOImpl implements PaymentDAO {
                     "currency = ?, description = ?, payment_method = ?, " +
                     "transaction_id = ?, status = ? WHERE id = ?";
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, payment.getUserId());
             ps.setInt(2, payment.getLevel());
             ps.setDouble(3, payment.getAmount());
@@ -175,11 +189,27 @@ public class PaymentDAOImpl implements PaymentDAO {
         return false;
     }
 
+    @Override
+    public boolean updateTransactionId(int id, String transactionId) {
+        String sql = "UPDATE payments SET transaction_id = ? WHERE id = ?";
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, transactionId);
+            ps.setInt(2, id);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
     @Override
     public boolean delete(int id) {
         String sql = "DELETE FROM payments WHERE id = ?";
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -188,6 +218,120 @@ public class PaymentDAOImpl implements PaymentDAO {
         return false;
     }
 
+    @Override
+    public PaymentSummary getPaymentSummary() {
+        // One grouped scan; every dashboard figure is folded from these few rows
+        String sql = "SELECT level, status, COUNT(*) AS payment_count, SUM(amount) AS amount_total " +
+                    "FROM payments GROUP BY level, status";
+
+        double totalRevenue = 0;
+        int totalPayments = 0;
+        Map<Integer, Double> revenueByLevel = new HashMap<>();
+        Map<Integer, Integer> paymentsByLevel = new HashMap<>();
+        Map<String, Integer> paymentsByStatus = new HashMap<>();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                int level = rs.getInt("level");
+                String status = rs.getString("status");
+                int count = rs.getInt("payment_count");
+                double amount = rs.getDouble("amount_total");
+
+                totalPayments += count;
+                paymentsByLevel.merge(level, count, Integer::sum);
+                paymentsByStatus.merge(status, count, Integer::sum);
+
+                if ("SUCCESS".equals(status)) {
+                    totalRevenue += amount;
+                    revenueByLevel.merge(level, amount, Double::sum);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new PaymentSummary(totalRevenue, totalPayments, revenueByLevel, paymentsByLevel, paymentsByStatus);
+    }
+
+    /**
+     * Keyset page of payments, newest first. Pass 0 as {@code beforeId} for the
+     * first page, then the id of the last payment received.
+     */
+    @Override
+    public Page<Payment> findPage(int beforeId, int limit, String status, Integer level) {
+        return findPage(new PaymentCriteria().status(status).level(level), beforeId, limit);
+    }
+
+    /**
+     * Keyset page of the payments matching {@code criteria}, newest first. Each
+     * set criterion becomes a plain column predicate, so the status, level,
+     * user and created_at indexes can serve the search. The payer's name is
+     * joined in so the table does not look it up per row.
+     */
+    @Override
+    public Page<Payment> findPage(PaymentCriteria criteria, int beforeId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT p.*, u.name AS user_name FROM payments p " +
+                "LEFT JOIN users u ON u.id = p.user_id WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (beforeId > 0) {
+            sql.append(" AND p.id < ?");
+            params.add(beforeId);
+        }
+        if (criteria.getStatus() != null) {
+            sql.append(" AND p.status = ?");
+            params.add(criteria.getStatus());
+        }
+        if (criteria.getLevel() != null) {
+            sql.append(" AND p.level = ?");
+            params.add(criteria.getLevel());
+        }
+        if (criteria.getPaymentMethod() != null) {
+            sql.append(" AND p.payment_method = ?");
+            params.add(criteria.getPaymentMethod());
+        }
+        if (criteria.getUserId() != null) {
+            sql.append(" AND p.user_id = ?");
+            params.add(criteria.getUserId());
+        }
+        if (criteria.getCreatedFrom() != null) {
+            sql.append(" AND p.created_at >= ?");
+            params.add(Timestamp.valueOf(criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            sql.append(" AND p.created_at < ?");
+            params.add(Timestamp.valueOf(criteria.getCreatedTo()));
+        }
+        if (criteria.getMinAmount() != null) {
+            sql.append(" AND p.amount >= ?");
+            params.add(criteria.getMinAmount());
+        }
+        if (criteria.getMaxAmount() != null) {
+            sql.append(" AND p.amount <= ?");
+            params.add(criteria.getMaxAmount());
+        }
+        sql.append(" ORDER BY p.id DESC LIMIT ?");
+        params.add(limit + 1);
+
+        List<Payment> payments = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                Payment payment = extractPaymentFromResultSet(rs);
+                payment.setUserName(rs.getString("user_name"));
+                payments.add(payment);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromOverfetch(payments, limit);
+    }
+
     private Payment extractPaymentFromResultSet(ResultSet rs) throws SQLException {
         return new Payment(
             rs.getInt("id"),
@@ -8,4 +8,6 @@ public interface QuestionDAO {
     void update(Question question);
     void delete(int id);
     List<Question> getByQuizId(int quizId);
+    List<Question> insertAll(List<Question> questions, int quizId);
+    int deleteByQuizId(int quizId);
 }
@@ -1,23 +1,29 @@
 package com.ums.system.dao;
 
 import com.ums.system.model.Question;
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public class QuestionDAOImpl implements QuestionDAO {
 
-    private final Connection connection;
+    // Rows per multi-row INSERT, keeping the statement well under the placeholder limit
+    private static final int ROWS_PER_INSERT = 500;
 
-    public QuestionDAOImpl(Connection connection) {
-        this.connection = connection;
+    private final DataSource dataSource;
+
+    public QuestionDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     @Override
     public void insert(Question q, int quizId) {
         String sql = "INSERT INTO questions (quiz_id, text, option1, option2, option3, option4, correct_option_index) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, quizId);
             ps.setString(2, q.getText());
             ps.setString(3, q.getOptions().size() > 0 ? q.getOptions().get(0) : null);
@@ -40,7 +46,8 @@ public class QuestionDAOImpl implements QuestionDAO {
         }
 
         String sql = "UPDATE questions SET text=?, option1=?, option2=?, option3=?, option4=?, correct_option_index=? WHERE id=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, q.getText());
             ps.setString(2, q.getOptions().size() > 0 ? q.getOptions().get(0) : null);
             ps.setString(3, q.getOptions().size() > 1 ? q.getOptions().get(1) : null);
@@ -62,7 +69,8 @@ public class QuestionDAOImpl implements QuestionDAO {
             return;
         }
 
-        try (PreparedStatement ps = connection.prepareStatement("DELETE FROM questions WHERE id=?")) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("DELETE FROM questions WHERE id=?")) {
             ps.setInt(1, id);
             ps.executeUpdate();
             System.out.println("Question deleted successfully.");
@@ -74,22 +82,13 @@ public class QuestionDAOImpl implements QuestionDAO {
     @Override
     public List<Question> getByQuizId(int quizId) {
         List<Question> questions = new ArrayList<>();
-        String sql = "SELECT * FROM questions WHERE quiz_id=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        String sql = "SELECT * FROM questions WHERE quiz_id=? ORDER BY id";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, quizId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    questions.add(new Question(
-                            rs.getInt("id"),
-                            rs.getString("text"),
-                            Arrays.asList(
-                                    rs.getString("option1"),
-                                    rs.getString("option2"),
-                                    rs.getString("option3"),
-                                    rs.getString("option4")
-                            ),
-                            rs.getInt("correct_option_index")
-                    ));
+                    questions.add(extractQuestionFromResultSet(rs));
                 }
             }
         } catch (SQLException e) {
@@ -100,7 +99,8 @@ public class QuestionDAOImpl implements QuestionDAO {
 
     public boolean existsById(int id) {
         String sql = "SELECT 1 FROM questions WHERE id=?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 return rs.next();
@@ -110,4 +110,131 @@ public class QuestionDAOImpl implements QuestionDAO {
         }
         return false;
     }
+
+    /**
+     * Inserts all questions of a quiz in one transaction.
+     *
+     * @return the questions with their generated ids, in the given order
+     */
+    @Override
+    public List<Question> insertAll(List<Question> questions, int quizId) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                List<Question> inserted = insertAll(connection, quizId, questions);
+                connection.commit();
+                return inserted;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public int deleteByQuizId(int quizId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("DELETE FROM questions WHERE quiz_id=?")) {
+            ps.setInt(1, quizId);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Inserts the questions with multi-row INSERT ... RETURNING statements on
+     * the caller's connection, so it can be part of a larger transaction.
+     * RETURNING yields the generated ids in insertion order (MariaDB 10.5+).
+     */
+    static List<Question> insertAll(Connection connection, int quizId, List<Question> questions) throws SQLException {
+        List<Question> inserted = new ArrayList<>(questions.size());
+        for (int from = 0; from < questions.size(); from += ROWS_PER_INSERT) {
+            List<Question> chunk = questions.subList(from, Math.min(from + ROWS_PER_INSERT, questions.size()));
+            String sql = "INSERT INTO questions (quiz_id, text, option1, option2, option3, option4, correct_option_index) VALUES " +
+                         String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?, ?, ?, ?)")) +
+                         " RETURNING id";
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                int index = 1;
+                for (Question q : chunk) {
+                    ps.setInt(index++, quizId);
+                    index = bindQuestion(ps, index, q);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    for (Question q : chunk) {
+                        if (!rs.next()) {
+                            throw new SQLException("Missing generated id for question");
+                        }
+                        inserted.add(new Question(rs.getInt(1), q.getText(), q.getOptions(), q.getCorrectOptionIndex()));
+                    }
+                }
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Updates the given questions with one batched statement on the caller's connection.
+     */
+    static void updateAll(Connection connection, List<Question> questions) throws SQLException {
+        String sql = "UPDATE questions SET text=?, option1=?, option2=?, option3=?, option4=?, correct_option_index=? WHERE id=?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (Question q : questions) {
+                int index = bindQuestion(ps, 1, q);
+                ps.setInt(index, q.getId());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    static void deleteAll(Connection connection, int quizId, List<Integer> ids) throws SQLException {
+        String sql = "DELETE FROM questions WHERE quiz_id=? AND id IN (" +
+                     String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, quizId);
+            for (int i = 0; i < ids.size(); i++) {
+                ps.setInt(i + 2, ids.get(i));
+            }
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Binds text, the four options and the correct index starting at {@code index}.
+     *
+     * @return the next free parameter index
+     */
+    private static int bindQuestion(PreparedStatement ps, int index, Question q) throws SQLException {
+        ps.setString(index++, q.getText());
+        for (int i = 0; i < 4; i++) {
+            ps.setString(index++, optionAt(q, i));
+        }
+        ps.setInt(index++, q.getCorrectOptionIndex());
+        return index;
+    }
+
+    static String optionAt(Question q, int i) {
+        return q.getOptions() != null && q.getOptions().size() > i ? q.getOptions().get(i) : null;
+    }
+
+    static Question extractQuestionFromResultSet(ResultSet rs) throws SQLException {
+        return new Question(
+                rs.getInt("id"),
+                rs.getString("text"),
+                Arrays.asList(
+                        rs.getString("option1"),
+                        rs.getString("option2"),
+                        rs.getString("option3"),
+                        rs.getString("option4")
+                ),
+                rs.getInt("correct_option_index")
+        );
+    }
 }
@@ -1,6 +1,7 @@
 package com.ums.system.dao;
 
 import com.ums.system.model.Quiz;
+import com.ums.system.model.QuizSummary;
 import java.util.List;
 
 public interface QuizDAO {
@@ -8,7 +9,12 @@ public interface QuizDAO {
     void update(Quiz quiz);
     void delete(int id);
     Quiz getById(int id);
+    int getVersion(int id);
     List<Quiz> getAll();
     List<Quiz> getByCourseCode(String courseCode);
     List<Quiz> getByInstructorId(int instructorId);
+    List<QuizSummary> getSummaries();
+    List<QuizSummary> getSummariesByCourseCode(String courseCode);
+    List<QuizSummary> getSummariesByInstructorId(int instructorId);
+    List<QuizSummary> getSummariesByStudentId(int studentId);
 }
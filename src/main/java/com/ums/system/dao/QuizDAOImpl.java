@@ -2,33 +2,30 @@ package com.ums.system.dao;
 
 import com.ums.system.model.Question;
 import com.ums.system.model.Quiz;
+import com.ums.system.model.QuizSummary;
 
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 public class QuizDAOImpl implements QuizDAO {
 
-    private final Connection connection;
+    private final DataSource dataSource;
     private final QuestionDAO questionDAO;
 
-    public QuizDAOImpl(Connection connection, QuestionDAO questionDAO) {
-        this.connection = connection;
+    public QuizDAOImpl(DataSource dataSource, QuestionDAO questionDAO) {
+        this.dataSource = dataSource;
         this.questionDAO = questionDAO;
     }
 
-    private boolean existsById(int id) {
-        String sql = "SELECT COUNT(*) FROM quizzes WHERE id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, id);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) return rs.getInt(1) > 0;
-        } catch (SQLException e) {
-            System.err.println("Error checking quiz existence: " + e.getMessage());
-        }
-        return false;
-    }
-
+    /**
+     * Inserts the quiz and all its questions in one transaction; the questions
+     * go in as multi-row inserts rather than one statement each.
+     */
     @Override
     public void insert(Quiz quiz) {
         if (quiz == null || quiz.getTitle() == null || quiz.getCourseCode() == null) {
@@ -37,73 +34,161 @@ public class QuizDAOImpl implements QuizDAO {
         }
 
         String quizSql = "INSERT INTO quizzes (title, course_code) VALUES (?, ?)";
-        try (PreparedStatement ps = connection.prepareStatement(quizSql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setString(1, quiz.getTitle());
-            ps.setString(2, quiz.getCourseCode());
-            ps.executeUpdate();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
 
-            try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) {
+            try (PreparedStatement ps = connection.prepareStatement(quizSql, Statement.RETURN_GENERATED_KEYS)) {
+                ps.setString(1, quiz.getTitle());
+                ps.setString(2, quiz.getCourseCode());
+                ps.executeUpdate();
+
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    if (!rs.next()) {
+                        throw new SQLException("No id generated for quiz");
+                    }
                     int quizId = rs.getInt(1);
                     if (quiz.getQuestions() != null && !quiz.getQuestions().isEmpty()) {
-                        for (Question q : quiz.getQuestions()) {
-                            questionDAO.insert(q, quizId);
-                        }
+                        QuestionDAOImpl.insertAll(connection, quizId, quiz.getQuestions());
                     }
                 }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
             }
         } catch (SQLException e) {
             System.err.println("Error inserting quiz: " + e.getMessage());
         }
     }
 
+    /**
+     * Updates the quiz and brings its questions in line with
+     * {@code quiz.getQuestions()} in one transaction: new questions (id 0 or
+     * unknown) are inserted, changed ones updated, and stored questions missing
+     * from the list deleted. Unchanged questions are not touched. A null or
+     * empty question list leaves the stored questions as they are.
+     *
+     * If a question was added or removed or a correct option changed, the
+     * quiz's stored results are re-graded in the same transaction; text-only
+     * edits leave them alone, since grading is by option index.
+     */
     @Override
     public void update(Quiz quiz) {
         if (quiz == null || quiz.getId() <= 0) {
             System.err.println("Invalid quiz ID — cannot update.");
             return;
         }
-        if (!existsById(quiz.getId())) {
-            System.err.println("Quiz with ID " + quiz.getId() + " does not exist.");
-            return;
-        }
 
-        String sql = "UPDATE quizzes SET title = ?, course_code = ? WHERE id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, quiz.getTitle());
-            ps.setString(2, quiz.getCourseCode());
-            ps.setInt(3, quiz.getId());
-            ps.executeUpdate();
+        String sql = "UPDATE quizzes SET title = ?, course_code = ?, version = version + 1 WHERE id = ?";
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
 
-            if (quiz.getQuestions() != null && !quiz.getQuestions().isEmpty()) {
-                for (Question q : quiz.getQuestions()) {
-                    questionDAO.update(q);
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setString(1, quiz.getTitle());
+                ps.setString(2, quiz.getCourseCode());
+                ps.setInt(3, quiz.getId());
+                if (ps.executeUpdate() == 0) {
+                    System.err.println("Quiz with ID " + quiz.getId() + " does not exist.");
+                    connection.rollback();
+                    return;
+                }
+
+                if (quiz.getQuestions() != null && !quiz.getQuestions().isEmpty()
+                        && syncQuestions(connection, quiz.getId(), quiz.getQuestions())) {
+                    int regraded = QuizResultDAOImpl.regradeQuiz(connection, quiz.getId());
+                    System.out.println("Re-graded " + regraded + " results of quiz " + quiz.getId());
                 }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
             }
         } catch (SQLException e) {
             System.err.println("Error updating quiz: " + e.getMessage());
         }
     }
 
-    @Override
-    public void delete(int id) {
-        if (!existsById(id)) {
-            System.err.println("Quiz with ID " + id + " does not exist — cannot delete.");
-            return;
+    /**
+     * @return true if a question was added or removed or a correct option changed
+     */
+    private boolean syncQuestions(Connection connection, int quizId, List<Question> questions) throws SQLException {
+        Map<Integer, Question> stored = new HashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT * FROM questions WHERE quiz_id = ? FOR UPDATE")) {
+            ps.setInt(1, quizId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Question question = QuestionDAOImpl.extractQuestionFromResultSet(rs);
+                    stored.put(question.getId(), question);
+                }
+            }
         }
 
-        try {
-            List<Question> questions = questionDAO.getByQuizId(id);
-            for (Question q : questions) {
-                questionDAO.delete(q.getId());
+        List<Question> toInsert = new ArrayList<>();
+        List<Question> toUpdate = new ArrayList<>();
+        boolean correctOptionChanged = false;
+        for (Question question : questions) {
+            Question current = stored.remove(question.getId());
+            if (current == null) {
+                toInsert.add(question);
+            } else if (!sameContent(current, question)) {
+                toUpdate.add(question);
+                correctOptionChanged |= current.getCorrectOptionIndex() != question.getCorrectOptionIndex();
             }
+        }
+        // Whatever is left in stored was dropped from the quiz
+        List<Integer> toDelete = new ArrayList<>(stored.keySet());
 
-            String sql = "DELETE FROM quizzes WHERE id = ?";
-            try (PreparedStatement ps = connection.prepareStatement(sql)) {
-                ps.setInt(1, id);
-                ps.executeUpdate();
+        if (!toDelete.isEmpty()) {
+            QuestionDAOImpl.deleteAll(connection, quizId, toDelete);
+        }
+        if (!toUpdate.isEmpty()) {
+            QuestionDAOImpl.updateAll(connection, toUpdate);
+        }
+        if (!toInsert.isEmpty()) {
+            QuestionDAOImpl.insertAll(connection, quizId, toInsert);
+        }
+        return correctOptionChanged || !toInsert.isEmpty() || !toDelete.isEmpty();
+    }
+
+    private static boolean sameContent(Question a, Question b) {
+        if (!Objects.equals(a.getText(), b.getText()) || a.getCorrectOptionIndex() != b.getCorrectOptionIndex()) {
+            return false;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (!Objects.equals(QuestionDAOImpl.optionAt(a, i), QuestionDAOImpl.optionAt(b, i))) {
+                return false;
             }
+        }
+        return true;
+    }
 
+    /**
+     * Deletes the quiz; its questions, results and answers go with it through
+     * ON DELETE CASCADE. The grade totals of the students who had taken it are
+     * re-derived in the same transaction, so they never count a result that
+     * no longer exists.
+     */
+    @Override
+    public void delete(int id) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                int deleted = QuizResultDAOImpl.deleteQuizzesWithTotals(connection,
+                        "DELETE FROM quizzes WHERE id = ?", "?", id);
+                connection.commit();
+                if (deleted == 0) {
+                    System.err.println("Quiz with ID " + id + " does not exist — cannot delete.");
+                }
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             System.err.println("Error deleting quiz: " + e.getMessage());
         }
@@ -112,17 +197,20 @@ public class QuizDAOImpl implements QuizDAO {
     @Override
     public Quiz getById(int id) {
         String sql = "SELECT * FROM quizzes WHERE id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
                     List<Question> questions = questionDAO.getByQuizId(id);
-                    return new Quiz(
+                    Quiz quiz = new Quiz(
                             rs.getInt("id"),
                             rs.getString("title"),
                             rs.getString("course_code"),
                             questions
                     );
+                    quiz.setVersion(rs.getInt("version"));
+                    return quiz;
                 }
             }
         } catch (SQLException e) {
@@ -131,86 +219,145 @@ public class QuizDAOImpl implements QuizDAO {
         return null;
     }
 
+    /**
+     * @return the quiz's current version, or -1 if it does not exist
+     */
     @Override
-    public List<Quiz> getAll() {
-        List<Quiz> quizzes = new ArrayList<>();
-        String sql = "SELECT * FROM quizzes";
-        try (Statement st = connection.createStatement();
-             ResultSet rs = st.executeQuery(sql)) {
-
-            while (rs.next()) {
-                int quizId = rs.getInt("id");
-                List<Question> questions = questionDAO.getByQuizId(quizId);
-
-                quizzes.add(new Quiz(
-                        quizId,
-                        rs.getString("title"),
-                        rs.getString("course_code"),
-                        questions
-                ));
+    public int getVersion(int id) {
+        String sql = "SELECT version FROM quizzes WHERE id = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
             }
-
         } catch (SQLException e) {
-            System.err.println("Error fetching all quizzes: " + e.getMessage());
+            System.err.println("Error fetching quiz version: " + e.getMessage());
         }
-        return quizzes;
+        return -1;
+    }
+
+    @Override
+    public List<Quiz> getAll() {
+        return loadQuizzes("", null);
     }
 
     @Override
     public List<Quiz> getByCourseCode(String courseCode) {
-        List<Quiz> quizzes = new ArrayList<>();
         if (courseCode == null || courseCode.isBlank()) {
             System.err.println("Invalid course code — cannot fetch quizzes.");
-            return quizzes;
+            return new ArrayList<>();
         }
+        return loadQuizzes("WHERE q.course_code = ?", courseCode);
+    }
 
-        String sql = "SELECT id, title, course_code FROM quizzes WHERE course_code = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, courseCode);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    int quizId = rs.getInt("id");
-                    List<Question> questions = questionDAO.getByQuizId(quizId);
+    @Override
+    public List<Quiz> getByInstructorId(int instructorId) {
+        return loadQuizzes("JOIN courses c ON q.course_code = c.code WHERE c.instructor_id = ?", instructorId);
+    }
 
-                    quizzes.add(new Quiz(
-                            quizId,
-                            rs.getString("title"),
-                            rs.getString("course_code"),
-                            questions
-                    ));
+    /**
+     * Loads the quizzes matched by {@code filter} (joins and WHERE clause over
+     * quizzes aliased {@code q}, with at most one parameter) together with all
+     * their questions in two queries, instead of one question query per quiz.
+     */
+    private List<Quiz> loadQuizzes(String filter, Object value) {
+        String quizzesSql = "SELECT q.id, q.title, q.course_code FROM quizzes q " + filter + " ORDER BY q.id";
+        String questionsSql = "SELECT * FROM questions WHERE quiz_id IN (SELECT q.id FROM quizzes q " + filter + ") " +
+                              "ORDER BY quiz_id, id";
+
+        List<Quiz> quizzes = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            Map<Integer, List<Question>> questionsByQuiz = new HashMap<>();
+            try (PreparedStatement ps = connection.prepareStatement(questionsSql)) {
+                if (value != null) {
+                    ps.setObject(1, value);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        questionsByQuiz.computeIfAbsent(rs.getInt("quiz_id"), k -> new ArrayList<>())
+                                .add(QuestionDAOImpl.extractQuestionFromResultSet(rs));
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = connection.prepareStatement(quizzesSql)) {
+                if (value != null) {
+                    ps.setObject(1, value);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        int quizId = rs.getInt("id");
+                        quizzes.add(new Quiz(
+                                quizId,
+                                rs.getString("title"),
+                                rs.getString("course_code"),
+                                questionsByQuiz.getOrDefault(quizId, new ArrayList<>())
+                        ));
+                    }
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error fetching quizzes by course code: " + e.getMessage());
+            System.err.println("Error fetching quizzes: " + e.getMessage());
         }
         return quizzes;
     }
 
     @Override
-    public List<Quiz> getByInstructorId(int instructorId) {
-        List<Quiz> quizzes = new ArrayList<>();
-        String sql = "SELECT q.id, q.title, q.course_code " +
+    public List<QuizSummary> getSummaries() {
+        return loadSummaries("", null);
+    }
+
+    @Override
+    public List<QuizSummary> getSummariesByCourseCode(String courseCode) {
+        return loadSummaries("WHERE q.course_code = ?", courseCode);
+    }
+
+    @Override
+    public List<QuizSummary> getSummariesByInstructorId(int instructorId) {
+        return loadSummaries("WHERE c.instructor_id = ?", instructorId);
+    }
+
+    @Override
+    public List<QuizSummary> getSummariesByStudentId(int studentId) {
+        return loadSummaries("JOIN student_courses sc ON sc.course_code = q.course_code WHERE sc.student_id = ?", studentId);
+    }
+
+    /**
+     * One aggregated query for quiz listings: question counts are computed by
+     * the database and no question rows are transferred.
+     */
+    private List<QuizSummary> loadSummaries(String filter, Object value) {
+        String sql = "SELECT q.id, q.title, q.course_code, c.course_name, COUNT(qn.id) AS question_count " +
                      "FROM quizzes q " +
                      "JOIN courses c ON q.course_code = c.code " +
-                     "WHERE c.instructor_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, instructorId);
+                     "LEFT JOIN questions qn ON qn.quiz_id = q.id " +
+                     filter + " " +
+                     "GROUP BY q.id, q.title, q.course_code, c.course_name " +
+                     "ORDER BY q.id";
+
+        List<QuizSummary> summaries = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            if (value != null) {
+                ps.setObject(1, value);
+            }
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    int quizId = rs.getInt("id");
-                    List<Question> questions = questionDAO.getByQuizId(quizId);
-
-                    quizzes.add(new Quiz(
-                            quizId,
+                    summaries.add(new QuizSummary(
+                            rs.getInt("id"),
                             rs.getString("title"),
                             rs.getString("course_code"),
-                            questions
+                            rs.getString("course_name"),
+                            rs.getInt("question_count")
                     ));
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error fetching quizzes by instructor ID: " + e.getMessage());
+            System.err.println("Error fetching quiz summaries: " + e.getMessage());
         }
-        return quizzes;
+        return summaries;
     }
 }
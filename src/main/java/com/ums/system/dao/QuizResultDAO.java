@@ -1,11 +1,14 @@
 package com.ums.system.dao;
 
 import com.ums.system.model.QuizResult;
+import com.ums.system.model.SaveOutcome;
 import java.util.List;
 
 public interface QuizResultDAO {
-    void insert(QuizResult result);
+    SaveOutcome insert(QuizResult result);
+    SaveOutcome insertAll(List<QuizResult> results);
     List<QuizResult> getByStudentId(int studentId);
     List<QuizResult> getByQuizId(int quizId);
-    double calculateAverageGrade(int studentId);
+    List<QuizResult> getByInstructorId(int instructorId);
+    int reconcileGrades();
 }
@@ -3,142 +3,404 @@ package com.ums.system.dao;
 import com.ums.system.model.Question;
 import com.ums.system.model.Quiz;
 import com.ums.system.model.QuizResult;
+import com.ums.system.model.SaveOutcome;
+import com.ums.system.model.Student;
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.Collections;
 
 public class QuizResultDAOImpl implements QuizResultDAO {
 
-    private final Connection connection;
+    // Joins that let result queries be scoped by quiz, student or the course's instructor
+    private static final String RESULT_SCOPE_JOINS =
+            "JOIN quizzes q ON qr.quiz_id = q.id " +
+            "JOIN courses c ON q.course_code = c.code ";
 
-    public QuizResultDAOImpl(Connection connection) {
-        this.connection = connection;
+    // Correct answers of one result, summed over quiz_answers qa joined to questions qn. Answers
+    // stored before option indexes were recorded fall back to comparing the answer text.
+    private static final String ANSWER_SCORE = """
+        SUM(CASE WHEN qa.chosen_option_index IS NOT NULL
+                 THEN qa.chosen_option_index = qn.correct_option_index
+                 ELSE qa.chosen_answer = CASE qn.correct_option_index
+                     WHEN 0 THEN qn.option1 WHEN 1 THEN qn.option2
+                     WHEN 2 THEN qn.option3 WHEN 3 THEN qn.option4 END
+            END)""";
+
+    private final DataSource dataSource;
+
+    public QuizResultDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
+    // Rows per multi-row answer INSERT, keeping the statement well under the placeholder limit
+    private static final int ANSWER_ROWS_PER_INSERT = 500;
+
     @Override
-    public void insert(QuizResult result) {
-        String sql = "INSERT INTO quiz_results (student_id, quiz_id, score) VALUES (?, ?, ?)";
-        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setInt(1, result.getStudent().getId());
-            ps.setInt(2, result.getQuiz().getId());
-            ps.setInt(3, result.getScore());
-            ps.executeUpdate();
+    public SaveOutcome insert(QuizResult result) {
+        return insertAll(List.of(result));
+    }
 
-            try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) {
-                    int resultId = rs.getInt(1);
+    /**
+     * Writes a group of submissions in one transaction: the result rows, every
+     * answer through multi-row inserts, and one running-total update per student,
+     * so the grade never needs a scan of the student's history. Nothing is kept
+     * if any statement fails.
+     *
+     * The stored score is computed in SQL from the chosen option indexes and
+     * the questions' current correct options, and copied back into each
+     * result. A client grading against a cached, outdated answer key therefore
+     * cannot store a wrong score, even after the key's re-grade has run.
+     *
+     * Results whose submission id is already stored are skipped, so replaying
+     * a submission that was committed before neither duplicates its rows nor
+     * counts it twice in the grade totals. Results without an id are given one.
+     *
+     * @return SAVED if the whole group was committed, otherwise whether the
+     *         database was unreachable or refused the data
+     */
+    @Override
+    public SaveOutcome insertAll(List<QuizResult> results) {
+        if (results.isEmpty()) {
+            return SaveOutcome.SAVED;
+        }
+        for (QuizResult result : results) {
+            if (result.getSubmissionId() == null) {
+                result.setSubmissionId(UUID.randomUUID().toString());
+            }
+        }
+        String sql = "INSERT INTO quiz_results (submission_id, student_id, quiz_id, score) VALUES (?, ?, ?, ?)";
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
 
-                    String ansSql = "INSERT INTO quiz_answers (result_id, question_id, chosen_answer) VALUES (?, ?, ?)";
-                    try (PreparedStatement aps = connection.prepareStatement(ansSql)) {
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                Set<String> alreadySaved = findSavedSubmissions(connection, results);
+                Map<Integer, QuizResult> newResults = new LinkedHashMap<>();
+                List<Object> answerParams = new ArrayList<>();
+                for (QuizResult result : results) {
+                    if (!alreadySaved.add(result.getSubmissionId())) {
+                        continue;
+                    }
+                    ps.setString(1, result.getSubmissionId());
+                    ps.setInt(2, result.getStudent().getId());
+                    ps.setInt(3, result.getQuiz().getId());
+                    ps.setInt(4, result.getScore());
+                    ps.executeUpdate();
+
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        if (!rs.next()) {
+                            throw new SQLException("No id generated for quiz result");
+                        }
+                        int resultId = rs.getInt(1);
+                        newResults.put(resultId, result);
                         for (var entry : result.getAnswers().entrySet()) {
-                            aps.setInt(1, resultId);
-                            aps.setInt(2, entry.getKey().getId());
-                            aps.setString(3, entry.getValue());
-                            aps.addBatch();
+                            answerParams.add(resultId);
+                            answerParams.add(entry.getKey().getId());
+                            answerParams.add(chosenOptionOf(result, entry.getKey(), entry.getValue()));
+                            answerParams.add(entry.getValue());
                         }
-                        aps.executeBatch();
                     }
                 }
+
+                if (!newResults.isEmpty()) {
+                    insertAnswers(connection, answerParams);
+                    scoreFromAnswers(connection, newResults);
+                    addToGradeTotals(connection, new ArrayList<>(newResults.values()));
+                }
+                connection.commit();
+                return SaveOutcome.SAVED;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
             }
         } catch (SQLException e) {
+            System.err.println("Error saving " + results.size() + " quiz result(s)");
             e.printStackTrace();
+            return outcomeOf(e);
         }
     }
 
-    @Override
-    public List<QuizResult> getByStudentId(int studentId) {
-        List<QuizResult> list = new ArrayList<>();
-        String sql = "SELECT qr.*, q.title, q.course_code FROM quiz_results qr " +
-                     "JOIN quizzes q ON qr.quiz_id = q.id WHERE qr.student_id = ?";
+    /**
+     * Submission ids of the group that are already stored. A concurrent save of
+     * the same submission is caught by the unique key and fails this group,
+     * whose retry then finds it here.
+     */
+    private Set<String> findSavedSubmissions(Connection connection, List<QuizResult> results) throws SQLException {
+        String sql = "SELECT submission_id FROM quiz_results WHERE submission_id IN (" +
+                     String.join(", ", Collections.nCopies(results.size(), "?")) + ")";
+        Set<String> saved = new HashSet<>();
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, studentId);
+            for (int i = 0; i < results.size(); i++) {
+                ps.setString(i + 1, results.get(i).getSubmissionId());
+            }
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    int resultId = rs.getInt("id");
-                    int quizId = rs.getInt("quiz_id");
-
-                    // Load actual questions from database
-                    List<Question> questions = loadQuestionsByQuizId(quizId);
-
-                    // Load student's answers from database
-                    Map<Question, String> answers = loadAnswersByResultId(resultId, questions);
-
-                    Quiz quiz = new Quiz(
-                        quizId,
-                        rs.getString("title"),
-                        rs.getString("course_code"),
-                        questions
-                    );
-                    list.add(new QuizResult(null, quiz, rs.getInt("score"), answers));
+                    saved.add(rs.getString(1));
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
-        return list;
+        return saved;
     }
 
     /**
-     * Load all questions for a quiz from the database
+     * Tells a failure to reach the database (connection errors, pool and lock
+     * timeouts, deadlocks) apart from the database refusing the data.
      */
-    private List<Question> loadQuestionsByQuizId(int quizId) {
-        List<Question> questions = new ArrayList<>();
-        String sql = "SELECT * FROM questions WHERE quiz_id = ? ORDER BY id";
+    private static SaveOutcome outcomeOf(SQLException e) {
+        String state = e.getSQLState();
+        if (e instanceof SQLTransientException || e instanceof SQLNonTransientConnectionException ||
+            e instanceof SQLRecoverableException || (state != null && state.startsWith("08"))) {
+            return SaveOutcome.UNAVAILABLE;
+        }
+        return SaveOutcome.REJECTED;
+    }
+
+    private void insertAnswers(Connection connection, List<Object> params) throws SQLException {
+        int rowCount = params.size() / 4;
+        for (int from = 0; from < rowCount; from += ANSWER_ROWS_PER_INSERT) {
+            int rows = Math.min(ANSWER_ROWS_PER_INSERT, rowCount - from);
+            String sql = "INSERT INTO quiz_answers (result_id, question_id, chosen_option_index, chosen_answer) VALUES " +
+                         String.join(", ", Collections.nCopies(rows, "(?, ?, ?, ?)"));
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (int i = 0; i < rows * 4; i++) {
+                    ps.setObject(i + 1, params.get(from * 4 + i));
+                }
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Sets the score of the just inserted results from their stored answers and
+     * copies it back into the results, so the grade totals use the same score.
+     */
+    private void scoreFromAnswers(Connection connection, Map<Integer, QuizResult> results) throws SQLException {
+        String ids = String.join(", ", Collections.nCopies(results.size(), "?"));
+        String sql = """
+            UPDATE quiz_results qr
+            LEFT JOIN (
+                SELECT qa.result_id, %s AS score
+                FROM quiz_answers qa
+                JOIN questions qn ON qn.id = qa.question_id
+                WHERE qa.result_id IN (%s)
+                GROUP BY qa.result_id
+            ) ns ON ns.result_id = qr.id
+            SET qr.score = COALESCE(ns.score, 0)
+            WHERE qr.id IN (%s)
+        """.formatted(ANSWER_SCORE, ids, ids);
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, quizId);
+            int index = 1;
+            for (int pass = 0; pass < 2; pass++) {
+                for (int resultId : results.keySet()) {
+                    ps.setInt(index++, resultId);
+                }
+            }
+            ps.executeUpdate();
+        }
+
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT id, score FROM quiz_results WHERE id IN (" + ids + ")")) {
+            int index = 1;
+            for (int resultId : results.keySet()) {
+                ps.setInt(index++, resultId);
+            }
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    questions.add(new Question(
-                        rs.getInt("id"),
-                        rs.getString("text"),
-                        Arrays.asList(
-                            rs.getString("option1"),
-                            rs.getString("option2"),
-                            rs.getString("option3"),
-                            rs.getString("option4")
-                        ),
-                        rs.getInt("correct_option_index")
-                    ));
+                    results.get(rs.getInt("id")).setScore(rs.getInt("score"));
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
-        return questions;
     }
 
     /**
-     * Load student's answers for a quiz result from the database
+     * The index of the chosen option, or null when it is not known. Results
+     * built without option indexes fall back to finding the answer text among
+     * the question's options.
      */
-    private Map<Question, String> loadAnswersByResultId(int resultId, List<Question> questions) {
-        Map<Question, String> answers = new HashMap<>();
-        String sql = "SELECT question_id, chosen_answer FROM quiz_answers WHERE result_id = ?";
+    private static Integer chosenOptionOf(QuizResult result, Question question, String answer) {
+        Integer chosen = result.getChosenOptions().get(question.getId());
+        if (chosen != null) {
+            return chosen;
+        }
+        int index = question.getOptions() != null ? question.getOptions().indexOf(answer) : -1;
+        return index >= 0 ? index : null;
+    }
+
+    private void addToGradeTotals(Connection connection, List<QuizResult> results) throws SQLException {
+        Map<Integer, Integer> questionCounts = countQuestions(connection, results);
+
+        // Sorted by student so concurrent groups lock student rows in the same order
+        Map<Integer, int[]> totalsByStudent = new TreeMap<>();
+        for (QuizResult result : results) {
+            int questionCount = questionCounts.getOrDefault(result.getQuiz().getId(), 0);
+            if (questionCount == 0) {
+                continue; // nothing to grade against
+            }
+            int[] totals = totalsByStudent.computeIfAbsent(result.getStudent().getId(), k -> new int[2]);
+            totals[0] += result.getScore();
+            totals[1] += questionCount;
+        }
+        if (totalsByStudent.isEmpty()) {
+            return;
+        }
+
+        // grade is assigned first so it reads the totals before they are incremented
+        String sql = """
+            UPDATE students
+            SET grade = (quiz_score_total + ?) * 100.0 / (quiz_question_total + ?),
+                quiz_score_total = quiz_score_total + ?,
+                quiz_question_total = quiz_question_total + ?
+            WHERE user_id = ?
+        """;
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, resultId);
+            for (Map.Entry<Integer, int[]> entry : totalsByStudent.entrySet()) {
+                int[] totals = entry.getValue();
+                ps.setInt(1, totals[0]);
+                ps.setInt(2, totals[1]);
+                ps.setInt(3, totals[0]);
+                ps.setInt(4, totals[1]);
+                ps.setInt(5, entry.getKey());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private Map<Integer, Integer> countQuestions(Connection connection, List<QuizResult> results) throws SQLException {
+        List<Integer> quizIds = results.stream().map(r -> r.getQuiz().getId()).distinct().toList();
+        String sql = "SELECT quiz_id, COUNT(*) FROM questions WHERE quiz_id IN (" +
+                     String.join(", ", Collections.nCopies(quizIds.size(), "?")) + ") GROUP BY quiz_id";
+
+        Map<Integer, Integer> counts = new HashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < quizIds.size(); i++) {
+                ps.setInt(i + 1, quizIds.get(i));
+            }
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    int questionId = rs.getInt("question_id");
-                    String chosenAnswer = rs.getString("chosen_answer");
-
-                    // Find the matching question object
-                    for (Question q : questions) {
-                        if (q.getId() == questionId) {
-                            answers.put(q, chosenAnswer);
-                            break;
+                    counts.put(rs.getInt(1), rs.getInt(2));
+                }
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public List<QuizResult> getByStudentId(int studentId) {
+        return loadResults("qr.student_id = ?", studentId);
+    }
+
+    @Override
+    public List<QuizResult> getByQuizId(int quizId) {
+        return loadResults("qr.quiz_id = ?", quizId);
+    }
+
+    @Override
+    public List<QuizResult> getByInstructorId(int instructorId) {
+        return loadResults("c.instructor_id = ?", instructorId);
+    }
+
+    /**
+     * Bulk loader shared by the result listings. Instead of re-querying questions,
+     * answers and the student for every result row, it runs three set-based queries
+     * (results with students, questions of the quizzes involved, and all answers of
+     * the matched results) and assembles the QuizResult graph in memory.
+     */
+    private List<QuizResult> loadResults(String condition, int value) {
+        String resultsSql = "SELECT qr.id AS result_id, qr.quiz_id, qr.score, q.title, q.course_code, " +
+                            "u.*, st.level, st.major, st.grade, st.department " +
+                            "FROM quiz_results qr " + RESULT_SCOPE_JOINS +
+                            "JOIN students st ON qr.student_id = st.user_id " +
+                            "JOIN users u ON st.user_id = u.id " +
+                            "WHERE " + condition + " ORDER BY qr.id";
+        String questionsSql = "SELECT * FROM questions WHERE quiz_id IN (" +
+                              "SELECT qr.quiz_id FROM quiz_results qr " + RESULT_SCOPE_JOINS +
+                              "WHERE " + condition + ") ORDER BY quiz_id, id";
+        String answersSql = "SELECT qa.result_id, qa.question_id, qa.chosen_option_index, qa.chosen_answer " +
+                            "FROM quiz_answers qa " +
+                            "JOIN quiz_results qr ON qa.result_id = qr.id " + RESULT_SCOPE_JOINS +
+                            "WHERE " + condition;
+
+        List<QuizResult> list = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            Map<Integer, List<Question>> questionsByQuiz = new HashMap<>();
+            Map<Integer, Question> questionsById = new HashMap<>();
+            try (PreparedStatement ps = connection.prepareStatement(questionsSql)) {
+                ps.setInt(1, value);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Question question = QuestionDAOImpl.extractQuestionFromResultSet(rs);
+                        questionsByQuiz.computeIfAbsent(rs.getInt("quiz_id"), k -> new ArrayList<>()).add(question);
+                        questionsById.put(question.getId(), question);
+                    }
+                }
+            }
+
+            Map<Integer, Map<Question, String>> answersByResult = new HashMap<>();
+            Map<Integer, Map<Integer, Integer>> chosenByResult = new HashMap<>();
+            try (PreparedStatement ps = connection.prepareStatement(answersSql)) {
+                ps.setInt(1, value);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Question question = questionsById.get(rs.getInt("question_id"));
+                        if (question != null) {
+                            int resultId = rs.getInt("result_id");
+                            answersByResult.computeIfAbsent(resultId, k -> new HashMap<>())
+                                    .put(question, rs.getString("chosen_answer"));
+                            int chosen = rs.getInt("chosen_option_index");
+                            if (!rs.wasNull()) {
+                                chosenByResult.computeIfAbsent(resultId, k -> new HashMap<>())
+                                        .put(question.getId(), chosen);
+                            }
                         }
                     }
                 }
             }
+
+            Map<Integer, Quiz> quizzes = new HashMap<>();
+            try (PreparedStatement ps = connection.prepareStatement(resultsSql)) {
+                ps.setInt(1, value);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        int quizId = rs.getInt("quiz_id");
+                        Quiz quiz = quizzes.get(quizId);
+                        if (quiz == null) {
+                            quiz = new Quiz(
+                                quizId,
+                                rs.getString("title"),
+                                rs.getString("course_code"),
+                                questionsByQuiz.getOrDefault(quizId, new ArrayList<>())
+                            );
+                            quizzes.put(quizId, quiz);
+                        }
+
+                        Student student = StudentDAOImpl.extractStudentFromResultSet(rs);
+                        int resultId = rs.getInt("result_id");
+                        Map<Question, String> answers = answersByResult.getOrDefault(resultId, new HashMap<>());
+                        QuizResult result = new QuizResult(student, quiz, rs.getInt("score"), answers);
+                        result.setChosenOptions(chosenByResult.getOrDefault(resultId, new HashMap<>()));
+                        list.add(result);
+                    }
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return answers;
+        return list;
     }
 
-    private List<Question> createEmptyQuestionList(int quizId) {
+    private List<Question> createEmptyQuestionList(Connection connection, int quizId) {
         List<Question> questions = new ArrayList<>();
         String sql = "SELECT COUNT(*) as count FROM questions WHERE quiz_id = ?";
         try (PreparedStatement ps = connection.prepareStatement(sql)) {
@@ -157,75 +419,135 @@ public class QuizResultDAOImpl implements QuizResultDAO {
         return questions;
     }
 
-    @Override
-    public List<QuizResult> getByQuizId(int quizId) {
-        List<QuizResult> list = new ArrayList<>();
-        String sql = "SELECT qr.*, q.title, q.course_code, " +
-                     "u.id as student_id, u.name as student_name, u.email as student_email, " +
-                     "st.level as student_level, st.major as student_major, st.department as student_department " +
-                     "FROM quiz_results qr " +
-                     "JOIN quizzes q ON qr.quiz_id = q.id " +
-                     "JOIN students st ON qr.student_id = st.user_id " +
-                     "JOIN users u ON st.user_id = u.id " +
-                     "WHERE qr.quiz_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, quizId);
+    /**
+     * Re-scores the stored results of the quiz by comparing each stored chosen
+     * option index with the question's current correct_option_index, so
+     * editing option text never changes a score. Answers stored before option
+     * indexes were recorded fall back to comparing the answer text. The
+     * affected students' running score and question totals are then
+     * re-derived from their stored results, so a question added to or removed
+     * from the quiz is reflected in both, and their grades recomputed.
+     *
+     * Runs on the caller's connection, inside the transaction that changed the
+     * answer key, so the new key never goes live without the scores graded
+     * against it.
+     *
+     * @return the number of results re-scored
+     */
+    static int regradeQuiz(Connection connection, int quizId) throws SQLException {
+        String newScores = """
+            SELECT qa.result_id, %s AS score
+            FROM quiz_answers qa
+            JOIN questions qn ON qn.id = qa.question_id
+            WHERE qn.quiz_id = ?
+            GROUP BY qa.result_id
+        """.formatted(ANSWER_SCORE);
 
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    int resultId = rs.getInt("id");
+        String rescore = """
+            UPDATE quiz_results qr
+            LEFT JOIN (%s) ns ON ns.result_id = qr.id
+            SET qr.score = COALESCE(ns.score, 0)
+            WHERE qr.quiz_id = ?
+        """.formatted(newScores);
 
-                    // Load actual questions from database
-                    List<Question> questions = loadQuestionsByQuizId(quizId);
+        String retotal = rederiveTotalsSql("SELECT student_id FROM quiz_results WHERE quiz_id = ?");
 
-                    // Load student's answers from database
-                    Map<Question, String> answers = loadAnswersByResultId(resultId, questions);
+        try (PreparedStatement psRescore = connection.prepareStatement(rescore);
+             PreparedStatement psTotals = connection.prepareStatement(retotal)) {
 
-                    // Create Quiz object
-                    Quiz quiz = new Quiz(
-                        quizId,
-                        rs.getString("title"),
-                        rs.getString("course_code"),
-                        questions
-                    );
+            psRescore.setInt(1, quizId);
+            psRescore.setInt(2, quizId);
+            int rescored = psRescore.executeUpdate();
 
-                    // Create Student object using StudentDAOImpl to get proper Department enum
-                    StudentDAOImpl studentDAO = new StudentDAOImpl(connection);
-                    com.ums.system.model.Student student = studentDAO.getById(rs.getInt("student_id"));
+            psTotals.setInt(1, quizId);
+            psTotals.setInt(2, quizId);
+            psTotals.executeUpdate();
+            return rescored;
+        }
+    }
 
-                    QuizResult result = new QuizResult(student, quiz, rs.getInt("score"), answers);
-                    list.add(result);
-                }
-            }
+    /**
+     * Recomputes every student's running totals and grade from quiz_results in a
+     * single statement. Students without graded results keep their current grade.
+     */
+    @Override
+    public int reconcileGrades() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(rederiveTotalsSql(null))) {
+            return ps.executeUpdate();
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return list;
+        return 0;
     }
 
-    @Override
-    public double calculateAverageGrade(int studentId) {
-        String sql = """
-            SELECT
-                AVG(
-                    (CAST(qr.score AS DECIMAL(10,2)) / 
-                    (SELECT COUNT(*) FROM questions WHERE quiz_id = qr.quiz_id)) * 100
-                ) as average_grade
-            FROM quiz_results qr
-            WHERE qr.student_id = ?
-        """;
-
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, studentId);
+    /**
+     * Runs {@code deleteSql}, which removes the quizzes selected by
+     * {@code quizScope} and, through ON DELETE CASCADE, their results, then
+     * re-derives the totals and grades of the students who had results on them.
+     * Uses the caller's connection and transaction. Those students are read,
+     * and their results locked, before the delete, since nothing is left to
+     * find them by afterwards. Both statements bind {@code scopeValue} once.
+     *
+     * @return the number of rows {@code deleteSql} removed
+     */
+    static int deleteQuizzesWithTotals(Connection connection, String deleteSql, String quizScope, Object scopeValue)
+            throws SQLException {
+        List<Integer> studentIds = new ArrayList<>();
+        String affected = "SELECT DISTINCT student_id FROM quiz_results WHERE quiz_id IN (" + quizScope + ") FOR UPDATE";
+        try (PreparedStatement ps = connection.prepareStatement(affected)) {
+            ps.setObject(1, scopeValue);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    double avg = rs.getDouble("average_grade");
-                    return rs.wasNull() ? 0.0 : avg;
+                while (rs.next()) {
+                    studentIds.add(rs.getInt(1));
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
-        return 0.0;
+
+        int deleted;
+        try (PreparedStatement ps = connection.prepareStatement(deleteSql)) {
+            ps.setObject(1, scopeValue);
+            deleted = ps.executeUpdate();
+        }
+
+        if (!studentIds.isEmpty()) {
+            String placeholders = String.join(",", Collections.nCopies(studentIds.size(), "?"));
+            try (PreparedStatement ps = connection.prepareStatement(rederiveTotalsSql(placeholders))) {
+                int index = 1;
+                for (int pass = 0; pass < 2; pass++) {
+                    for (int studentId : studentIds) {
+                        ps.setInt(index++, studentId);
+                    }
+                }
+                ps.executeUpdate();
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Statement that sets the running totals and grade of the students selected
+     * by {@code studentScope} (an expression usable inside {@code IN (...)},
+     * whose parameters are bound twice, or null for every student) from their
+     * stored results. Students without graded results keep their current grade.
+     */
+    private static String rederiveTotalsSql(String studentScope) {
+        String resultFilter = studentScope != null ? "WHERE qr.student_id IN (" + studentScope + ")" : "";
+        String studentFilter = studentScope != null ? "WHERE s.user_id IN (" + studentScope + ")" : "";
+        return """
+            UPDATE students s
+            LEFT JOIN (
+                SELECT qr.student_id, SUM(qr.score) AS score_total, SUM(qc.question_count) AS question_total
+                FROM quiz_results qr
+                JOIN (SELECT quiz_id, COUNT(*) AS question_count FROM questions GROUP BY quiz_id) qc
+                    ON qc.quiz_id = qr.quiz_id
+                %s
+                GROUP BY qr.student_id
+            ) t ON t.student_id = s.user_id
+            SET s.quiz_score_total = COALESCE(t.score_total, 0),
+                s.quiz_question_total = COALESCE(t.question_total, 0),
+                s.grade = CASE WHEN t.question_total > 0 THEN t.score_total * 100.0 / t.question_total ELSE s.grade END
+            %s
+        """.formatted(resultFilter, studentFilter);
     }
 }
@@ -1,19 +1,21 @@
 package com.ums.system.dao;
 
 import com.ums.system.model.*;
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.*;
 
 public class StudentDAOImpl implements UserDAO<Student> {
-    private final Connection connection;
+    private final DataSource dataSource;
 
-    public StudentDAOImpl(Connection connection) {
-        this.connection = connection;
+    public StudentDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
     boolean existsByEmail(String email) {
         String sql = "SELECT 1 FROM users WHERE email = ? AND role = 'STUDENT' LIMIT 1";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, email);
             ResultSet rs = ps.executeQuery();
             return rs.next();
@@ -25,7 +27,8 @@ public class StudentDAOImpl implements UserDAO<Student> {
 
     boolean existsById(int id) {
         String sql = "SELECT 1 FROM users WHERE id = ? AND role = 'STUDENT' LIMIT 1";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
             return rs.next();
@@ -46,6 +49,7 @@ public class StudentDAOImpl implements UserDAO<Student> {
         String studentSql = "INSERT INTO students (user_id, level, major, grade, department) VALUES (?, ?, ?, ?, ?)";
 
         try (
+                Connection connection = dataSource.getConnection();
                 PreparedStatement psUser = connection.prepareStatement(userSql, Statement.RETURN_GENERATED_KEYS);
                 PreparedStatement psStudent = connection.prepareStatement(studentSql)
         ) {
@@ -71,35 +75,49 @@ public class StudentDAOImpl implements UserDAO<Student> {
         }
     }
 
+    /**
+     * Saves only the fields changed since the student was loaded. A table none
+     * of whose columns changed is not touched, and a missing student is
+     * detected from the affected-row count rather than a separate lookup.
+     */
     @Override
     public void update(Student s) {
-        if (!existsById(s.getId())) {
-            System.out.println("Cannot update: student not found with ID " + s.getId());
+        if (!s.hasChanges()) {
             return;
         }
 
-        String userSql = "UPDATE users SET name=?, email=?, password=?, role=? WHERE id=?";
-        String studentSql = "UPDATE students SET level=?, major=?, grade=?, department=? WHERE user_id=?";
+        boolean levelChanged = s.isChanged(Student.LEVEL);
+        // Only a change spanning both tables needs an explicit transaction
+        boolean bothTables = levelChanged && s.getChangedFields().size() > 1;
 
-        try (
-                PreparedStatement psUser = connection.prepareStatement(userSql);
-                PreparedStatement psStudent = connection.prepareStatement(studentSql)
-        ) {
-            psUser.setString(1, s.getName());
-            psUser.setString(2, s.getEmail());
-            psUser.setString(3, s.getPassword());
-            psUser.setString(4, s.getRole().toString());
-            psUser.setInt(5, s.getId());
-            psUser.executeUpdate();
-
-            psStudent.setInt(1, s.getLevel());
-            psStudent.setString(2, s.getMajor());
-            psStudent.setDouble(3, s.getGrade());
-            psStudent.setString(4, s.getDepartmentName().toString());
-            psStudent.setInt(5, s.getId());
-            psStudent.executeUpdate();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(!bothTables);
+            try {
+                int matched = UserAccountDAOImpl.updateChangedColumns(connection, s, Role.STUDENT);
+                if (matched != 0 && levelChanged) {
+                    matched = writeLevel(connection, s.getId(), s.getLevel());
+                }
 
-            System.out.println("Student updated successfully.");
+                if (matched == 0) {
+                    if (bothTables) {
+                        connection.rollback();
+                    }
+                    System.out.println("Cannot update: student not found with ID " + s.getId());
+                    return;
+                }
+                if (bothTables) {
+                    connection.commit();
+                }
+                s.markSaved();
+                System.out.println("Student updated successfully.");
+            } catch (SQLException e) {
+                if (bothTables) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -112,7 +130,8 @@ public class StudentDAOImpl implements UserDAO<Student> {
             return;
         }
 
-        try (PreparedStatement ps = connection.prepareStatement("DELETE FROM users WHERE id=?")) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("DELETE FROM users WHERE id=?")) {
             ps.setInt(1, id);
             ps.executeUpdate();
             System.out.println("Student deleted successfully.");
@@ -130,23 +149,12 @@ public class StudentDAOImpl implements UserDAO<Student> {
             WHERE u.id = ?
         """;
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
-                return new Student(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("password"),
-                        Role.valueOf(rs.getString("role")),
-                        rs.getInt("level"),
-                        rs.getString("major"),
-                        null,
-                        0,
-                        Department.valueOf(rs.getString("department")),
-                        rs.getDouble("grade")
-                );
+                return extractStudentFromResultSet(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -163,23 +171,12 @@ public class StudentDAOImpl implements UserDAO<Student> {
             JOIN students s ON u.id = s.user_id
         """;
 
-        try (Statement st = connection.createStatement();
+        try (Connection connection = dataSource.getConnection();
+             Statement st = connection.createStatement();
              ResultSet rs = st.executeQuery(sql)) {
 
             while (rs.next()) {
-                list.add(new Student(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("password"),
-                        Role.valueOf(rs.getString("role")),
-                        rs.getInt("level"),
-                        rs.getString("major"),
-                        null,
-                        0,
-                        Department.valueOf(rs.getString("department")),
-                        rs.getDouble("grade")
-                ));
+                list.add(extractStudentFromResultSet(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -188,18 +185,67 @@ public class StudentDAOImpl implements UserDAO<Student> {
     }
 
     public void updateGrade(int studentId, double grade) {
-        if (!existsById(studentId)) {
-            System.out.println("Cannot update grade: student not found with ID " + studentId);
-            return;
-        }
-
         String sql = "UPDATE students SET grade = ? WHERE user_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setDouble(1, grade);
             ps.setInt(2, studentId);
-            ps.executeUpdate();
+            if (ps.executeUpdate() == 0) {
+                System.out.println("Cannot update grade: student not found with ID " + studentId);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Sets only the level column; returns false if there is no such student.
+     */
+    public boolean updateLevel(int studentId, int level) {
+        try (Connection connection = dataSource.getConnection()) {
+            return writeLevel(connection, studentId, level) > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static int writeLevel(Connection connection, int studentId, int level) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("UPDATE students SET level = ? WHERE user_id = ?")) {
+            ps.setInt(1, level);
+            ps.setInt(2, studentId);
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Moves every student who has a successful payment for their current level
+     * up one level, in a single UPDATE. With {@code fromLevel} null all levels
+     * below {@code maxLevel} are promoted at once; each row is updated once, so
+     * nobody skips a level. Returns the number of students promoted, or -1 if
+     * the statement failed.
+     */
+    public int promotePaidStudents(Integer fromLevel, int maxLevel) {
+        StringBuilder sql = new StringBuilder("""
+            UPDATE students s
+            SET s.level = s.level + 1
+            WHERE s.level < ?
+              AND EXISTS (SELECT 1 FROM payments p
+                          WHERE p.user_id = s.user_id AND p.level = s.level AND p.status = 'SUCCESS')
+            """);
+        if (fromLevel != null) {
+            sql.append("  AND s.level = ?");
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            ps.setInt(1, maxLevel);
+            if (fromLevel != null) {
+                ps.setInt(2, fromLevel);
+            }
+            return ps.executeUpdate();
         } catch (SQLException e) {
             e.printStackTrace();
+            return -1;
         }
     }
 
@@ -211,27 +257,72 @@ public class StudentDAOImpl implements UserDAO<Student> {
             WHERE u.email = ?
         """;
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
             ps.setString(1, email);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
-                return new Student(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("password"),
-                        Role.valueOf(rs.getString("role")),
-                        rs.getInt("level"),
-                        rs.getString("major"),
-                        null,
-                        0,
-                        Department.valueOf(rs.getString("department")),
-                        rs.getDouble("grade")
-                );
+                return extractStudentFromResultSet(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return null;
     }
+
+    static Student extractStudentFromResultSet(ResultSet rs) throws SQLException {
+        return new Student(
+                rs.getInt("id"),
+                rs.getString("name"),
+                rs.getString("email"),
+                rs.getString("password"),
+                Role.valueOf(rs.getString("role")),
+                rs.getInt("level"),
+                rs.getString("major"),
+                null,
+                0,
+                Department.valueOf(rs.getString("department")),
+                rs.getDouble("grade")
+        );
+    }
+
+    /**
+     * Keyset page of students ordered by id, starting after {@code afterId}
+     * (0 for the first page). Level and department filters are optional.
+     */
+    public Page<Student> getPage(int afterId, int limit, Integer level, Department department) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT u.*, s.level, s.major, s.grade, s.department
+            FROM users u
+            JOIN students s ON u.id = s.user_id
+            WHERE u.id > ?
+        """);
+        List<Object> params = new ArrayList<>();
+        params.add(afterId);
+        if (level != null) {
+            sql.append(" AND s.level = ?");
+            params.add(level);
+        }
+        if (department != null) {
+            sql.append(" AND s.department = ?");
+            params.add(department.name());
+        }
+        sql.append(" ORDER BY u.id LIMIT ?");
+        params.add(limit + 1);
+
+        List<Student> list = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                list.add(extractStudentFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromOverfetch(list, limit);
+    }
 }
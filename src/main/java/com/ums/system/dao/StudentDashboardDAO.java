@@ -0,0 +1,7 @@
+package com.ums.system.dao;
+
+import com.ums.system.model.StudentDashboard;
+
+public interface StudentDashboardDAO {
+    StudentDashboard getDashboard(int studentId);
+}
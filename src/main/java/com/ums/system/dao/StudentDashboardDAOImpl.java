@@ -0,0 +1,63 @@
+package com.ums.system.dao;
+
+import com.ums.system.model.StudentDashboard;
+
+import javax.sql.DataSource;
+import java.sql.*;
+
+/**
+ * Computes every dashboard figure in one round trip. Each count is a scalar
+ * subquery on an indexed key, so no course, quiz or result rows are loaded.
+ */
+public class StudentDashboardDAOImpl implements StudentDashboardDAO {
+
+    private static final String DASHBOARD_QUERY = """
+            SELECT s.user_id, s.level, s.grade,
+                   (SELECT COUNT(*) FROM student_courses sc
+                     WHERE sc.student_id = s.user_id) AS total_courses,
+                   (SELECT COUNT(DISTINCT r.quiz_id) FROM quiz_results r
+                     WHERE r.student_id = s.user_id) AS completed_quizzes,
+                   (SELECT COUNT(*) FROM quizzes q
+                     JOIN student_courses sc ON sc.course_code = q.course_code
+                     WHERE sc.student_id = s.user_id) AS available_quizzes,
+                   (SELECT COUNT(*) FROM quizzes q
+                     JOIN student_courses sc ON sc.course_code = q.course_code
+                     WHERE sc.student_id = s.user_id
+                       AND NOT EXISTS (SELECT 1 FROM quiz_results r
+                                        WHERE r.student_id = s.user_id AND r.quiz_id = q.id)) AS pending_quizzes,
+                   EXISTS (SELECT 1 FROM payments p
+                            WHERE p.user_id = s.user_id AND p.level = s.level
+                              AND p.status = 'SUCCESS') AS paid_for_level
+            FROM students s
+            WHERE s.user_id = ?
+            """;
+
+    private final DataSource dataSource;
+
+    public StudentDashboardDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public StudentDashboard getDashboard(int studentId) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(DASHBOARD_QUERY)) {
+            ps.setInt(1, studentId);
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                return new StudentDashboard(
+                        rs.getInt("user_id"),
+                        rs.getInt("level"),
+                        rs.getInt("total_courses"),
+                        rs.getInt("completed_quizzes"),
+                        rs.getInt("available_quizzes"),
+                        rs.getInt("pending_quizzes"),
+                        rs.getDouble("grade"),
+                        rs.getBoolean("paid_for_level"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ums.system.dao;
+
+import com.ums.system.model.Page;
+import com.ums.system.model.Role;
+import com.ums.system.model.User;
+
+public interface UserAccountDAO {
+    Page<User> getPage(int afterId, int limit, Role role);
+
+    /**
+     * Resolves the user with this email to its role subtype, or null.
+     */
+    User findByEmail(String email);
+
+    /**
+     * Replaces the password hash only if it still equals {@code expectedHash},
+     * so a password changed in the meantime is never overwritten.
+     */
+    boolean updatePasswordHash(int userId, String expectedHash, String newHash);
+}
@@ -0,0 +1,152 @@
+package com.ums.system.dao;
+
+import com.ums.system.model.*;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads users of every role in one query, resolving each row to its Admin,
+ * Instructor or Student subtype through LEFT JOINs on the role tables.
+ */
+public class UserAccountDAOImpl implements UserAccountDAO {
+
+    private static final String SELECT_ACCOUNT = """
+            SELECT u.*, s.level, s.major, s.grade,
+                   s.department AS student_department, i.department AS instructor_department
+            FROM users u
+            LEFT JOIN students s ON s.user_id = u.id
+            LEFT JOIN instructors i ON i.user_id = u.id
+            """;
+
+    private final DataSource dataSource;
+
+    public UserAccountDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public Page<User> getPage(int afterId, int limit, Role role) {
+        StringBuilder sql = new StringBuilder(SELECT_ACCOUNT).append("WHERE u.id > ?");
+        List<Object> params = new ArrayList<>();
+        params.add(afterId);
+        if (role != null) {
+            sql.append(" AND u.role = ?");
+            params.add(role.name());
+        }
+        sql.append(" ORDER BY u.id LIMIT ?");
+        params.add(limit + 1);
+
+        List<User> users = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                users.add(extractAccountFromResultSet(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Page.fromOverfetch(users, limit);
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        String sql = SELECT_ACCOUNT + "WHERE u.email = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, email);
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                return extractAccountFromResultSet(rs);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean updatePasswordHash(int userId, String expectedHash, String newHash) {
+        String sql = "UPDATE users SET password = ? WHERE id = ? AND password = ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, newHash);
+            ps.setInt(2, userId);
+            ps.setString(3, expectedHash);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Writes only the changed name, email and password columns of a user with
+     * the given role. Returns the number of rows matched (0 when there is no
+     * such user), or -1 when none of those fields changed and nothing was run.
+     */
+    static int updateChangedColumns(Connection connection, User user, Role role) throws SQLException {
+        List<String> assignments = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        if (user.isChanged(User.NAME)) {
+            assignments.add("name = ?");
+            values.add(user.getName());
+        }
+        if (user.isChanged(User.EMAIL)) {
+            assignments.add("email = ?");
+            values.add(user.getEmail());
+        }
+        if (user.isChanged(User.PASSWORD)) {
+            assignments.add("password = ?");
+            values.add(user.getPassword());
+        }
+        if (assignments.isEmpty()) {
+            return -1;
+        }
+
+        String sql = "UPDATE users SET " + String.join(", ", assignments) + " WHERE id = ? AND role = ?";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (Object value : values) {
+                ps.setObject(index++, value);
+            }
+            ps.setInt(index++, user.getId());
+            ps.setString(index, role.name());
+            return ps.executeUpdate();
+        }
+    }
+
+    private User extractAccountFromResultSet(ResultSet rs) throws SQLException {
+        int id = rs.getInt("id");
+        String name = rs.getString("name");
+        String email = rs.getString("email");
+        String password = rs.getString("password");
+        Role role = Role.valueOf(rs.getString("role"));
+
+        switch (role) {
+            case STUDENT:
+                return new Student(id, name, email, password, role,
+                        rs.getInt("level"),
+                        rs.getString("major"),
+                        null,
+                        0,
+                        toDepartment(rs.getString("student_department")),
+                        rs.getDouble("grade"));
+            case INSTRUCTOR:
+                return new Instructor(id, name, email, password, role,
+                        toDepartment(rs.getString("instructor_department")));
+            default:
+                return new Admin(id, name, email, password, role);
+        }
+    }
+
+    private Department toDepartment(String value) {
+        return value != null ? Department.valueOf(value) : null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ums.system.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled form of a quiz's correct answers: question ids in ascending order
+ * with the correct option index at the same position. Grading compares option
+ * indexes only, so it does not depend on the option text.
+ */
+public class AnswerKey {
+    private final int quizId;
+    private final int[] questionIds;
+    private final int[] correctOptions;
+
+    private AnswerKey(int quizId, int[] questionIds, int[] correctOptions) {
+        this.quizId = quizId;
+        this.questionIds = questionIds;
+        this.correctOptions = correctOptions;
+    }
+
+    public static AnswerKey compile(Quiz quiz) {
+        List<Question> questions = quiz.getQuestions();
+        Question[] sorted = questions.toArray(new Question[0]);
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a.getId(), b.getId()));
+
+        int[] questionIds = new int[sorted.length];
+        int[] correctOptions = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            questionIds[i] = sorted[i].getId();
+            correctOptions[i] = sorted[i].getCorrectOptionIndex();
+        }
+        return new AnswerKey(quiz.getId(), questionIds, correctOptions);
+    }
+
+    /**
+     * Counts the correct answers. Each entry maps a question id to the chosen
+     * option index; questions that are not part of this quiz are ignored.
+     */
+    public int score(Map<Integer, Integer> chosenOptions) {
+        int score = 0;
+        for (Map.Entry<Integer, Integer> chosen : chosenOptions.entrySet()) {
+            int position = Arrays.binarySearch(questionIds, chosen.getKey());
+            if (position >= 0 && chosen.getValue() != null && correctOptions[position] == chosen.getValue()) {
+                score++;
+            }
+        }
+        return score;
+    }
+
+    public int getQuizId() { return quizId; }
+
+    public int getQuestionCount() { return questionIds.length; }
+}
@@ -13,6 +13,7 @@ public class Course {
     private int InstructorId;
     private int studentCount;
     private int quizCount;
+    private String instructorName;
 
     public Course(String code, String courseName, String level, String major, String lectureTime, List<Student> students, List<Quiz> quizzes, int instructorId) {
         this.code = code;
@@ -75,4 +76,12 @@ public class Course {
         this.quizCount = quizCount;
     }
 
+    public String getInstructorName() {
+        return instructorName;
+    }
+
+    public void setInstructorName(String instructorName) {
+        this.instructorName = instructorName;
+    }
+
 }
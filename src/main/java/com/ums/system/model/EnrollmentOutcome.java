@@ -0,0 +1,28 @@
+package com.ums.system.model;
+
+/**
+ * Result of an enrollment attempt.
+ */
+public enum EnrollmentOutcome {
+    ENROLLED("Enrolled successfully"),
+    ALREADY_ENROLLED("Already enrolled in this course"),
+    STUDENT_NOT_FOUND("Student does not exist"),
+    COURSE_NOT_FOUND("Course does not exist"),
+    LEVEL_MISMATCH("Course level does not match the student's level"),
+    MAJOR_MISMATCH("Course major does not match the student's major"),
+    FAILED("Enrollment failed because of a database error");
+
+    private final String message;
+
+    EnrollmentOutcome(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isSuccess() {
+        return this == ENROLLED;
+    }
+}
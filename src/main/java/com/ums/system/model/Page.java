@@ -0,0 +1,39 @@
+package com.ums.system.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. The next page is requested with the
+ * key of the last item, so deep pages cost the same as the first one.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final boolean hasMore;
+
+    public Page(List<T> items, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Builds a page from a query that fetched {@code limit + 1} rows; the extra
+     * row only signals that another page exists and is dropped.
+     */
+    public static <T> Page<T> fromOverfetch(List<T> rows, int limit) {
+        if (rows.size() > limit) {
+            return new Page<>(rows.subList(0, limit), true);
+        }
+        return new Page<>(rows, false);
+    }
+
+    public List<T> getItems() { return items; }
+
+    public boolean hasMore() { return hasMore; }
+
+    public boolean isEmpty() { return items.isEmpty(); }
+
+    public T getLast() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+}
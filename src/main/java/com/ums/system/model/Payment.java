@@ -13,6 +13,7 @@ public class Payment {
     private String transactionId;
     private String status; // SUCCESS, FAILED, PENDING
     private LocalDateTime createdAt;
+    private String userName; // joined in by admin searches, null otherwise
 
     public Payment(int userId, int level, double amount, String currency,
                    String description, String paymentMethod) {
@@ -72,6 +73,9 @@ public class Payment {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public String getUserName() { return userName; }
+    public void setUserName(String userName) { this.userName = userName; }
+
     @Override
     public String toString() {
         return "Payment{" +
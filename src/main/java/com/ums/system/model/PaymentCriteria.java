@@ -0,0 +1,67 @@
+package com.ums.system.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for searching payments. Every field is optional; unset fields do not
+ * restrict the search. The date range includes its start and excludes its end;
+ * the amount range includes both bounds.
+ */
+public class PaymentCriteria {
+    private String status;
+    private Integer level;
+    private String paymentMethod;
+    private Integer userId;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private Double minAmount;
+    private Double maxAmount;
+
+    public PaymentCriteria status(String status) {
+        this.status = status;
+        return this;
+    }
+
+    public PaymentCriteria level(Integer level) {
+        this.level = level;
+        return this;
+    }
+
+    public PaymentCriteria paymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+        return this;
+    }
+
+    public PaymentCriteria userId(Integer userId) {
+        this.userId = userId;
+        return this;
+    }
+
+    public PaymentCriteria createdBetween(LocalDateTime from, LocalDateTime to) {
+        this.createdFrom = from;
+        this.createdTo = to;
+        return this;
+    }
+
+    public PaymentCriteria amountBetween(Double min, Double max) {
+        this.minAmount = min;
+        this.maxAmount = max;
+        return this;
+    }
+
+    public String getStatus() { return status; }
+
+    public Integer getLevel() { return level; }
+
+    public String getPaymentMethod() { return paymentMethod; }
+
+    public Integer getUserId() { return userId; }
+
+    public LocalDateTime getCreatedFrom() { return createdFrom; }
+
+    public LocalDateTime getCreatedTo() { return createdTo; }
+
+    public Double getMinAmount() { return minAmount; }
+
+    public Double getMaxAmount() { return maxAmount; }
+}
@@ -7,6 +7,7 @@ public class PaymentRequest {
     private String currency;
     private String description;
     private String paymentMethod;
+    private String idempotencyKey;  // Submissions sharing a key run at most one gateway call at a time
 
     public PaymentRequest(int userId, int level, double amount,
                          String currency, String description, String paymentMethod) {
@@ -35,5 +36,8 @@ public class PaymentRequest {
 
     public String getPaymentMethod() { return paymentMethod; }
     public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
 }
 
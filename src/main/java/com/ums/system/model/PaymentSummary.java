@@ -0,0 +1,44 @@
+package com.ums.system.model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Payment totals aggregated in the database, broken down by level and status.
+ * Revenue only counts SUCCESS payments; counts include every status.
+ */
+public class PaymentSummary {
+    private final double totalRevenue;
+    private final int totalPayments;
+    private final Map<Integer, Double> revenueByLevel;
+    private final Map<Integer, Integer> paymentsByLevel;
+    private final Map<String, Integer> paymentsByStatus;
+
+    public PaymentSummary(double totalRevenue, int totalPayments, Map<Integer, Double> revenueByLevel,
+                          Map<Integer, Integer> paymentsByLevel, Map<String, Integer> paymentsByStatus) {
+        this.totalRevenue = totalRevenue;
+        this.totalPayments = totalPayments;
+        this.revenueByLevel = Collections.unmodifiableMap(new TreeMap<>(revenueByLevel));
+        this.paymentsByLevel = Collections.unmodifiableMap(new TreeMap<>(paymentsByLevel));
+        this.paymentsByStatus = Collections.unmodifiableMap(new TreeMap<>(paymentsByStatus));
+    }
+
+    public double getTotalRevenue() { return totalRevenue; }
+
+    public int getTotalPayments() { return totalPayments; }
+
+    public Map<Integer, Double> getRevenueByLevel() { return revenueByLevel; }
+
+    public Map<Integer, Integer> getPaymentsByLevel() { return paymentsByLevel; }
+
+    public Map<String, Integer> getPaymentsByStatus() { return paymentsByStatus; }
+
+    public double getRevenueForLevel(int level) {
+        return revenueByLevel.getOrDefault(level, 0.0);
+    }
+
+    public int getCountForStatus(String status) {
+        return paymentsByStatus.getOrDefault(status, 0);
+    }
+}
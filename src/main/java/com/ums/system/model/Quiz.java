@@ -8,6 +8,8 @@ public class Quiz {
     private String title;
     private String courseCode;
     private List<Question> questions;
+    // Bumped by every update, so a copy cached in another process can tell it is stale
+    private int version;
 
     public Quiz(int id, String title, String courseCode, List<Question> questions) {
         this.id = id;
@@ -32,4 +34,12 @@ public class Quiz {
         return questions;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.ums.system.model;
 
+import java.util.HashMap;
 import java.util.Map;
 
 public class QuizResult {
@@ -7,6 +8,10 @@ public class QuizResult {
     private Quiz quiz;
     private int score;
     private Map<Question, String> answers;
+    // Question id to the index of the chosen option, which grading compares
+    private Map<Integer, Integer> chosenOptions = new HashMap<>();
+    // Identifies one submission, so saving it twice stores it once
+    private String submissionId;
 
     public QuizResult(Student student, Quiz quiz, int score, Map<Question, String> answers) {
         this.student = student;
@@ -27,8 +32,28 @@ public class QuizResult {
         return score;
     }
 
+    public void setScore(int score) {
+        this.score = score;
+    }
+
     public Map<Question, String> getAnswers() {
         return answers;
     }
 
+    public Map<Integer, Integer> getChosenOptions() {
+        return chosenOptions;
+    }
+
+    public void setChosenOptions(Map<Integer, Integer> chosenOptions) {
+        this.chosenOptions = chosenOptions;
+    }
+
+    public String getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(String submissionId) {
+        this.submissionId = submissionId;
+    }
+
 }
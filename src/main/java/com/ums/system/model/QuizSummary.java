@@ -0,0 +1,31 @@
+package com.ums.system.model;
+
+/**
+ * Listing view of a quiz: everything a quiz table shows, without the
+ * questions. Load the full {@link Quiz} only when it is opened.
+ */
+public class QuizSummary {
+    private final int id;
+    private final String title;
+    private final String courseCode;
+    private final String courseName;
+    private final int questionCount;
+
+    public QuizSummary(int id, String title, String courseCode, String courseName, int questionCount) {
+        this.id = id;
+        this.title = title;
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.questionCount = questionCount;
+    }
+
+    public int getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public String getCourseCode() { return courseCode; }
+
+    public String getCourseName() { return courseName; }
+
+    public int getQuestionCount() { return questionCount; }
+}
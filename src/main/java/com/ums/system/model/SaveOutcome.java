@@ -0,0 +1,16 @@
+package com.ums.system.model;
+
+/**
+ * Result of writing a group of quiz results.
+ */
+public enum SaveOutcome {
+    SAVED,
+    // The database could not be reached or timed out; the same write can succeed later
+    UNAVAILABLE,
+    // The database refused the data itself; retrying it unchanged will not help
+    REJECTED;
+
+    public boolean isSaved() {
+        return this == SAVED;
+    }
+}
@@ -3,6 +3,8 @@ package com.ums.system.model;
 import java.util.Set;
 
 public class Student extends User{
+    public static final String LEVEL = "level";
+
     private int level;
     private String major;
     private Set<Course> courses;
@@ -25,7 +27,10 @@ public class Student extends User{
     }
 
     public void setLevel(int level) {
-        this.level = level;
+        if (this.level != level) {
+            this.level = level;
+            markChanged(LEVEL);
+        }
     }
 
     public String getMajor() {
@@ -0,0 +1,54 @@
+package com.ums.system.model;
+
+/**
+ * Read-only snapshot of the numbers shown on a student's dashboard, computed
+ * together by one aggregated query.
+ */
+public class StudentDashboard {
+    private final int studentId;
+    private final int level;
+    private final int totalCourses;
+    private final int completedQuizzes;
+    private final int availableQuizzes;
+    private final int pendingQuizzes;
+    private final double averageGrade;
+    private final boolean paidForLevel;
+
+    public StudentDashboard(int studentId, int level, int totalCourses, int completedQuizzes,
+                            int availableQuizzes, int pendingQuizzes, double averageGrade, boolean paidForLevel) {
+        this.studentId = studentId;
+        this.level = level;
+        this.totalCourses = totalCourses;
+        this.completedQuizzes = completedQuizzes;
+        this.availableQuizzes = availableQuizzes;
+        this.pendingQuizzes = pendingQuizzes;
+        this.averageGrade = averageGrade;
+        this.paidForLevel = paidForLevel;
+    }
+
+    public int getStudentId() { return studentId; }
+
+    public int getLevel() { return level; }
+
+    public int getTotalCourses() { return totalCourses; }
+
+    /**
+     * Distinct quizzes the student has taken, including ones from courses they
+     * have since dropped.
+     */
+    public int getCompletedQuizzes() { return completedQuizzes; }
+
+    /**
+     * Quizzes in the courses the student is currently enrolled in.
+     */
+    public int getAvailableQuizzes() { return availableQuizzes; }
+
+    /**
+     * Available quizzes the student has not taken yet.
+     */
+    public int getPendingQuizzes() { return pendingQuizzes; }
+
+    public double getAverageGrade() { return averageGrade; }
+
+    public boolean isPaidForLevel() { return paidForLevel; }
+}
@@ -1,12 +1,24 @@
 package com.ums.system.model;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
 public abstract class User {
 
+    // Names of the fields a setter can change; each matches its database column
+    public static final String NAME = "name";
+    public static final String EMAIL = "email";
+    public static final String PASSWORD = "password";
+
     private int Id;
     protected String name;
     protected String email;
     protected String password;
     protected Role role;
+    // Fields changed since the user was loaded or last saved, so updates only write those columns
+    private final Set<String> changedFields = new LinkedHashSet<>();
 
     public User(int id, String name, String email, String password, Role role) {
         this.Id = id;
@@ -37,15 +49,47 @@ public abstract class User {
     }
 
     public void setPassword(String password) {
-        this.password = password;
+        if (!Objects.equals(this.password, password)) {
+            this.password = password;
+            markChanged(PASSWORD);
+        }
     }
 
     public void setName(String name) {
-        this.name = name;
+        if (!Objects.equals(this.name, name)) {
+            this.name = name;
+            markChanged(NAME);
+        }
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        if (!Objects.equals(this.email, email)) {
+            this.email = email;
+            markChanged(EMAIL);
+        }
+    }
+
+    protected void markChanged(String field) {
+        changedFields.add(field);
+    }
+
+    public boolean isChanged(String field) {
+        return changedFields.contains(field);
+    }
+
+    public boolean hasChanges() {
+        return !changedFields.isEmpty();
+    }
+
+    public Set<String> getChangedFields() {
+        return Collections.unmodifiableSet(changedFields);
+    }
+
+    /**
+     * Forgets the recorded changes; called once they have been saved.
+     */
+    public void markSaved() {
+        changedFields.clear();
     }
 
 }
@@ -1,6 +1,10 @@
 package com.ums.system.service;
 
 import com.ums.system.model.Admin;
+import com.ums.system.model.Department;
+import com.ums.system.model.Page;
+import com.ums.system.model.Role;
+import com.ums.system.model.User;
 import java.util.List;
 
 public interface AdminService {
@@ -10,6 +14,11 @@ public interface AdminService {
     Admin getAdminById(int id);
     Admin getAdminByEmail(String email);
     List<Admin> getAllAdmins();
+    Page<Admin> getAdminsPage(int afterId, int limit);
+    Page<User> getUsersPage(int afterId, int limit, Role role);
 
     boolean updateStudentLevel(int studentId, int newLevel);
+    int promotePaidStudents(Integer fromLevel);
+    int enrollCohort(String courseCode, Department department);
+    int dropCourseForAll(String courseCode);
 }
@@ -1,22 +1,36 @@
 package com.ums.system.service;
 
 import com.ums.system.dao.AdminDAOImpl;
+import com.ums.system.dao.EnrollmentDAO;
+import com.ums.system.dao.EnrollmentDAOImpl;
 import com.ums.system.dao.StudentDAOImpl;
+import com.ums.system.dao.UserAccountDAO;
+import com.ums.system.dao.UserAccountDAOImpl;
 import com.ums.system.model.Admin;
-import com.ums.system.model.Student;
+import com.ums.system.model.Department;
+import com.ums.system.model.Page;
+import com.ums.system.model.Role;
+import com.ums.system.model.User;
 import com.ums.system.utils.ValidationUtil;
 import com.ums.system.utils.PasswordUtil;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
 import java.util.List;
 
 public class AdminServiceImpl implements AdminService {
     private final AdminDAOImpl adminDAO;
     private final StudentDAOImpl studentDAO;
+    private final UserAccountDAO userAccountDAO;
+    private final EnrollmentDAO enrollmentDAO;
 
-    public AdminServiceImpl(Connection connection) {
-        this.adminDAO = new AdminDAOImpl(connection);
-        this.studentDAO = new StudentDAOImpl(connection);
+    private static final int MIN_LEVEL = 1;
+    private static final int MAX_LEVEL = 4;
+
+    public AdminServiceImpl(DataSource dataSource) {
+        this.adminDAO = new AdminDAOImpl(dataSource);
+        this.studentDAO = new StudentDAOImpl(dataSource);
+        this.userAccountDAO = new UserAccountDAOImpl(dataSource);
+        this.enrollmentDAO = new EnrollmentDAOImpl(dataSource);
     }
 
     @Override
@@ -74,25 +88,72 @@ public class AdminServiceImpl implements AdminService {
         return adminDAO.getAll();
     }
 
+    @Override
+    public Page<Admin> getAdminsPage(int afterId, int limit) {
+        return adminDAO.getPage(afterId, limit);
+    }
+
+    @Override
+    public Page<User> getUsersPage(int afterId, int limit, Role role) {
+        return userAccountDAO.getPage(afterId, limit, role);
+    }
+
     @Override
     public boolean updateStudentLevel(int studentId, int newLevel) {
-        Student student = studentDAO.getById(studentId);
-        if (student == null) {
-            System.out.println("Student with ID " + studentId + " not found.");
+        if (newLevel < MIN_LEVEL || newLevel > MAX_LEVEL) {
+            System.out.println("Invalid level! Level must be between 1 and 4.");
             return false;
         }
 
-        if (newLevel < 1 || newLevel > 4) {
-            System.out.println("Invalid level! Level must be between 1 and 4.");
+        // Only the level column changes; name, password and grade are left alone
+        if (!studentDAO.updateLevel(studentId, newLevel)) {
+            System.out.println("Student with ID " + studentId + " not found.");
             return false;
         }
 
-        student.setLevel(newLevel);
-        studentDAO.update(student);
-
         System.out.println("Student level updated successfully!");
-        System.out.println("   Student: " + student.getName());
+        System.out.println("   Student ID: " + studentId);
         System.out.println("   New Level: " + newLevel);
         return true;
     }
+
+    /**
+     * Promotes every student who has paid for their current level, either from
+     * one level or (with null) from every level below the last one.
+     */
+    @Override
+    public int promotePaidStudents(Integer fromLevel) {
+        if (fromLevel != null && (fromLevel < MIN_LEVEL || fromLevel >= MAX_LEVEL)) {
+            throw new IllegalArgumentException("Only levels " + MIN_LEVEL + " to " + (MAX_LEVEL - 1) + " can be promoted");
+        }
+        int promoted = studentDAO.promotePaidStudents(fromLevel, MAX_LEVEL);
+        if (promoted < 0) {
+            throw new IllegalStateException("Promoting students failed");
+        }
+        return promoted;
+    }
+
+    @Override
+    public int enrollCohort(String courseCode, Department department) {
+        if (courseCode == null || courseCode.isBlank()) {
+            throw new IllegalArgumentException("Course code is required");
+        }
+        int enrolled = enrollmentDAO.enrollCohort(courseCode, department);
+        if (enrolled < 0) {
+            throw new IllegalStateException("Enrolling students in " + courseCode + " failed");
+        }
+        return enrolled;
+    }
+
+    @Override
+    public int dropCourseForAll(String courseCode) {
+        if (courseCode == null || courseCode.isBlank()) {
+            throw new IllegalArgumentException("Course code is required");
+        }
+        int dropped = enrollmentDAO.removeAllFromCourse(courseCode);
+        if (dropped < 0) {
+            throw new IllegalStateException("Dropping course " + courseCode + " failed");
+        }
+        return dropped;
+    }
 }
@@ -0,0 +1,11 @@
+package com.ums.system.service;
+
+import com.ums.system.model.User;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface AuthService {
+    User authenticate(String email, String password);
+    CompletableFuture<User> authenticateAsync(String email, String password);
+    String getStats();
+}
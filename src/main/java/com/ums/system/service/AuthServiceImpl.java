@@ -0,0 +1,219 @@
+package com.ums.system.service;
+
+import com.ums.system.dao.UserAccountDAO;
+import com.ums.system.dao.UserAccountDAOImpl;
+import com.ums.system.model.User;
+import com.ums.system.util.LruCache;
+import com.ums.system.utils.PasswordUtil;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs users in with BCrypt checks on a bounded pool sized to the CPU, since
+ * each check is pure CPU work and more threads than cores only adds queueing.
+ *
+ * A successful check is remembered for a few minutes under an HMAC of the
+ * email, password and stored hash, keyed with a random per-process secret, so
+ * repeated logins skip BCrypt without the cache ever holding a password or a
+ * value that could be brute-forced offline. Because the stored hash is part of
+ * the key, a password change invalidates the entry on the next lookup.
+ *
+ * Hashes created with a different cost than the configured one are replaced
+ * in the background after a successful login.
+ */
+public class AuthServiceImpl implements AuthService {
+
+    private static final int QUEUE_CAPACITY = 256;
+    private static final int CACHE_SIZE = 10_000;
+    private static final long DEFAULT_CACHE_TTL_MS = 5 * 60_000;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final UserAccountDAO userAccountDAO;
+    private final ThreadPoolExecutor verifyExecutor;
+    // Keyed hash of verified credentials -> expiry time in millis
+    private final LruCache<String, Long> verified = new LruCache<>(CACHE_SIZE);
+    private final long cacheTtlMs;
+    private final ThreadLocal<Mac> mac;
+
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong bcryptChecks = new AtomicLong();
+    private final AtomicLong bcryptNanos = new AtomicLong();
+    private final AtomicLong rehashes = new AtomicLong();
+
+    public AuthServiceImpl(DataSource dataSource) {
+        this(dataSource, Runtime.getRuntime().availableProcessors(), DEFAULT_CACHE_TTL_MS);
+    }
+
+    public AuthServiceImpl(DataSource dataSource, int verifyThreads, long cacheTtlMs) {
+        this.userAccountDAO = new UserAccountDAOImpl(dataSource);
+        this.cacheTtlMs = cacheTtlMs;
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SecretKeySpec key = new SecretKeySpec(secret, MAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac m = Mac.getInstance(MAC_ALGORITHM);
+                m.init(key);
+                return m;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.verifyExecutor = new ThreadPoolExecutor(
+                verifyThreads, verifyThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                r -> {
+                    Thread t = new Thread(r, "ums-auth-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.verifyExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public User authenticate(String email, String password) {
+        try {
+            return authenticateAsync(email, password).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    /**
+     * Completes with the logged-in user, or null when the email or password is
+     * wrong. Fails with IllegalStateException when too many logins are queued.
+     */
+    @Override
+    public CompletableFuture<User> authenticateAsync(String email, String password) {
+        if (email == null || email.isBlank() || password == null || password.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> doAuthenticate(email.trim(), password), verifyExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Too many login attempts in progress, please try again shortly", e));
+        }
+    }
+
+    private User doAuthenticate(String email, String password) {
+        attempts.incrementAndGet();
+        // One query resolves the role, so every login costs one round trip and one hash check
+        User user = userAccountDAO.findByEmail(email);
+        if (user == null || !verify(user, email, password)) {
+            return null;
+        }
+        successes.incrementAndGet();
+        System.out.println(user.getRole() + " login successful: " + user.getName());
+        return user;
+    }
+
+    /**
+     * Checks the password against the user's stored hash, consulting the
+     * verified-credential cache before running BCrypt.
+     */
+    private boolean verify(User user, String email, String password) {
+        String storedHash = user.getPassword();
+        if (storedHash == null) {
+            return false;
+        }
+        String key = cacheKey(email, password, storedHash);
+        Long expiresAt = verified.get(key);
+        long now = System.currentTimeMillis();
+        if (expiresAt != null && expiresAt > now) {
+            cacheHits.incrementAndGet();
+            return true;
+        }
+
+        long start = System.nanoTime();
+        boolean ok = PasswordUtil.verifyPassword(password, storedHash);
+        bcryptNanos.addAndGet(System.nanoTime() - start);
+        bcryptChecks.incrementAndGet();
+        if (!ok) {
+            return false;
+        }
+        verified.put(key, now + cacheTtlMs);
+        if (PasswordUtil.needsRehash(storedHash)) {
+            scheduleRehash(user.getId(), password, storedHash);
+        }
+        return true;
+    }
+
+    private void scheduleRehash(int userId, String password, String oldHash) {
+        try {
+            verifyExecutor.execute(() -> {
+                String newHash = PasswordUtil.hashPassword(password);
+                if (userAccountDAO.updatePasswordHash(userId, oldHash, newHash)) {
+                    rehashes.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Busy with logins; the hash is upgraded on a later login instead
+        }
+    }
+
+    private String cacheKey(String email, String password, String storedHash) {
+        Mac m = mac.get();
+        m.update(email.toLowerCase().getBytes(StandardCharsets.UTF_8));
+        m.update((byte) 0);
+        m.update(password.getBytes(StandardCharsets.UTF_8));
+        m.update((byte) 0);
+        return Base64.getEncoder().encodeToString(m.doFinal(storedHash.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Forgets every verified credential, so the next login of each user runs
+     * BCrypt again.
+     */
+    public void clearCache() {
+        verified.invalidateAll();
+    }
+
+    public long getCacheHitCount() {
+        return cacheHits.get();
+    }
+
+    public long getBcryptCheckCount() {
+        return bcryptChecks.get();
+    }
+
+    @Override
+    public String getStats() {
+        long checks = bcryptChecks.get();
+        double avgMs = checks == 0 ? 0.0 : bcryptNanos.get() / 1_000_000.0 / checks;
+        return "attempts=" + attempts.get() + ", successes=" + successes.get() +
+               ", cacheHits=" + cacheHits.get() + ", bcryptChecks=" + checks +
+               String.format(", avgBcryptMs=%.1f", avgMs) + ", rehashes=" + rehashes.get() +
+               ", cost=" + PasswordUtil.getCost() + ", queued=" + verifyExecutor.getQueue().size();
+    }
+
+    public void shutdown() {
+        verifyExecutor.shutdown();
+        try {
+            if (!verifyExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                verifyExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.ums.system.service;
 
 import com.ums.system.model.Course;
+import com.ums.system.model.Page;
 import java.util.List;
 
 public interface CourseService {
@@ -10,4 +11,8 @@ public interface CourseService {
     Course getCourseByCode(String code);
     List<Course> getAllCourses();
     List<Course> getCoursesByInstructorId(int instructorId);
+    Page<Course> getCoursesPage(String afterCode, int limit, String level, String major);
+    List<Course> getAvailableCourses(int studentId);
+    Page<Course> getAvailableCoursesPage(int studentId, String afterCode, int limit);
+    void clearCache();
 }
@@ -3,18 +3,26 @@ package com.ums.system.service;
 import com.ums.system.dao.CourseDAOImpl;
 import com.ums.system.dao.InstructorDAOImpl;
 import com.ums.system.model.Course;
+import com.ums.system.model.Page;
+import com.ums.system.util.LruCache;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.List;
 
 public class CourseServiceImpl implements CourseService {
 
+    private static final int COURSE_CACHE_SIZE = 1024;
+    private static final int AVAILABLE_PAGE_SIZE = 500;
+
     private final CourseDAOImpl courseDAO;
     private final InstructorDAOImpl instructorDAO;
+    // Courses by code; every write below goes to the database first, then drops the entry
+    private final LruCache<String, Course> courseCache = new LruCache<>(COURSE_CACHE_SIZE);
 
-    public CourseServiceImpl(Connection connection) {
-        this.courseDAO = new CourseDAOImpl(connection);
-        this.instructorDAO = new InstructorDAOImpl(connection);
+    public CourseServiceImpl(DataSource dataSource) {
+        this.courseDAO = new CourseDAOImpl(dataSource);
+        this.instructorDAO = new InstructorDAOImpl(dataSource);
     }
 
     @Override
@@ -30,7 +38,9 @@ public class CourseServiceImpl implements CourseService {
             return false;
         }
 
-        return courseDAO.insert(course);
+        boolean inserted = courseDAO.insert(course);
+        courseCache.invalidate(course.getCode());
+        return inserted;
     }
 
     @Override
@@ -40,17 +50,22 @@ public class CourseServiceImpl implements CourseService {
             return false;
         }
         courseDAO.update(course);
+        courseCache.invalidate(course.getCode());
         return true;
     }
 
     @Override
     public void deleteCourse(String code) {
         courseDAO.delete(code);
+        courseCache.invalidate(code);
     }
 
     @Override
     public Course getCourseByCode(String code) {
-        return courseDAO.getByCode(code);
+        if (code == null) {
+            return null;
+        }
+        return courseCache.get(code, courseDAO::getByCode);
     }
 
     @Override
@@ -62,4 +77,50 @@ public class CourseServiceImpl implements CourseService {
     public List<Course> getCoursesByInstructorId(int instructorId) {
         return courseDAO.getByInstructorId(instructorId);
     }
+
+    @Override
+    public Page<Course> getCoursesPage(String afterCode, int limit, String level, String major) {
+        return courseDAO.getPage(afterCode, limit, level, major);
+    }
+
+    /**
+     * Every course the student can still enroll in, read page by page.
+     */
+    @Override
+    public List<Course> getAvailableCourses(int studentId) {
+        List<Course> courses = new ArrayList<>();
+        Page<Course> page = courseDAO.getAvailablePage(studentId, null, AVAILABLE_PAGE_SIZE);
+        courses.addAll(page.getItems());
+        while (page.hasMore()) {
+            page = courseDAO.getAvailablePage(studentId, page.getLast().getCode(), AVAILABLE_PAGE_SIZE);
+            courses.addAll(page.getItems());
+        }
+        return courses;
+    }
+
+    @Override
+    public Page<Course> getAvailableCoursesPage(int studentId, String afterCode, int limit) {
+        return courseDAO.getAvailablePage(studentId, afterCode, limit);
+    }
+
+    /**
+     * Drops every cached course. Cached courses carry their instructor's id and
+     * name, so instructor renames and deletions call this.
+     */
+    @Override
+    public void clearCache() {
+        courseCache.invalidateAll();
+    }
+
+    public long getCacheHitCount() {
+        return courseCache.getHitCount();
+    }
+
+    public long getCacheMissCount() {
+        return courseCache.getMissCount();
+    }
+
+    public String getCacheStats() {
+        return courseCache.getStats();
+    }
 }
@@ -0,0 +1,11 @@
+package com.ums.system.service;
+
+import com.ums.system.model.AnswerKey;
+import com.ums.system.model.Quiz;
+
+import java.util.Map;
+
+public interface GradingService {
+    AnswerKey getAnswerKey(Quiz quiz);
+    int grade(Quiz quiz, Map<Integer, Integer> chosenOptions);
+}
@@ -0,0 +1,33 @@
+package com.ums.system.service;
+
+import com.ums.system.model.AnswerKey;
+import com.ums.system.model.Quiz;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public class GradingServiceImpl implements GradingService {
+
+    // Keyed by Quiz instance: an edited quiz is a new instance and gets a fresh key,
+    // and a key is dropped once its quiz is no longer referenced
+    private final Map<Quiz, AnswerKey> answerKeys = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public AnswerKey getAnswerKey(Quiz quiz) {
+        return answerKeys.computeIfAbsent(quiz, AnswerKey::compile);
+    }
+
+    /**
+     * Scores a submission against the quiz's compiled answer key.
+     *
+     * @param chosenOptions question id to the index of the chosen option
+     */
+    @Override
+    public int grade(Quiz quiz, Map<Integer, Integer> chosenOptions) {
+        if (quiz == null) {
+            throw new IllegalArgumentException("Quiz is required for grading");
+        }
+        return getAnswerKey(quiz).score(chosenOptions);
+    }
+}
@@ -1,6 +1,8 @@
 package com.ums.system.service;
 
+import com.ums.system.model.Department;
 import com.ums.system.model.Instructor;
+import com.ums.system.model.Page;
 import java.util.List;
 
 public interface InstructorService {
@@ -10,4 +12,5 @@ public interface InstructorService {
     Instructor getInstructorById(int id);
     Instructor getInstructorByEmail(String email);
     List<Instructor> getAllInstructors();
+    Page<Instructor> getInstructorsPage(int afterId, int limit, Department department);
 }
@@ -1,18 +1,27 @@
 package com.ums.system.service;
 
 import com.ums.system.dao.InstructorDAOImpl;
+import com.ums.system.model.Department;
 import com.ums.system.model.Instructor;
+import com.ums.system.model.Page;
+import com.ums.system.model.User;
 import com.ums.system.utils.ValidationUtil;
 import com.ums.system.utils.PasswordUtil;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
 import java.util.List;
 
 public class InstructorServiceImpl implements InstructorService {
     private final InstructorDAOImpl instructorDAO;
+    private final CourseService courseService;
 
-    public InstructorServiceImpl(Connection connection) {
-        this.instructorDAO = new InstructorDAOImpl(connection);
+    /**
+     * @param courseService the shared course service, whose cached courses are
+     *                      dropped when an instructor is renamed or deleted
+     */
+    public InstructorServiceImpl(DataSource dataSource, CourseService courseService) {
+        this.instructorDAO = new InstructorDAOImpl(dataSource);
+        this.courseService = courseService;
     }
 
     @Override
@@ -47,12 +56,19 @@ public class InstructorServiceImpl implements InstructorService {
 
     @Override
     public void updateInstructor(Instructor instructor) {
+        // Read before the update, which clears the changed fields
+        boolean renamed = instructor.isChanged(User.NAME);
         instructorDAO.update(instructor);
+        if (renamed) {
+            courseService.clearCache();
+        }
     }
 
     @Override
     public void deleteInstructor(int id) {
         instructorDAO.delete(id);
+        // Their courses lose the instructor through ON DELETE SET NULL
+        courseService.clearCache();
     }
 
     @Override
@@ -69,4 +85,9 @@ public class InstructorServiceImpl implements InstructorService {
     public List<Instructor> getAllInstructors() {
         return instructorDAO.getAll();
     }
+
+    @Override
+    public Page<Instructor> getInstructorsPage(int afterId, int limit, Department department) {
+        return instructorDAO.getPage(afterId, limit, department);
+    }
 }
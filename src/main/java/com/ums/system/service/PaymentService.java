@@ -1,18 +1,26 @@
 package com.ums.system.service;
 
+import com.ums.system.model.Page;
 import com.ums.system.model.Payment;
+import com.ums.system.model.PaymentCriteria;
 import com.ums.system.model.PaymentRequest;
+import com.ums.system.model.PaymentSummary;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface PaymentService {
     Payment processPayment(PaymentRequest request);
+    CompletableFuture<Payment> processPaymentAsync(PaymentRequest request);
     Payment getPaymentById(int id);
     List<Payment> getPaymentsByUserId(int userId);
     List<Payment> getPaymentsByLevel(int level);
     List<Payment> getAllPayments();
+    Page<Payment> getPaymentsPage(int beforeId, int limit, String status, Integer level);
+    Page<Payment> searchPayments(PaymentCriteria criteria, int beforeId, int limit);
     boolean hasUserPaidForLevel(int userId, int level);
     double calculateLevelFee(int level);
     double getTotalRevenue();
     double getTotalRevenueByLevel(int level);
+    PaymentSummary getPaymentSummary();
 }
 
@@ -2,18 +2,35 @@ package com.ums.system.service;
 
 import com.ums.system.dao.PaymentDAO;
 import com.ums.system.dao.PaymentDAOImpl;
+import com.ums.system.model.Page;
 import com.ums.system.model.Payment;
+import com.ums.system.model.PaymentCriteria;
 import com.ums.system.model.PaymentRequest;
 import com.ums.system.model.PaymentResult;
+import com.ums.system.model.PaymentSummary;
 import com.ums.system.util.MockPaymentGateway;
 import com.ums.system.util.PaymentGateway;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class PaymentServiceImpl implements PaymentService {
     private final PaymentDAO paymentDAO;
     private final PaymentGateway paymentGateway;
+    private final ThreadPoolExecutor gatewayExecutor;
+    private final long gatewayTimeoutMs;
+    // Payments currently at the gateway, by idempotency key; a duplicate submission joins the existing call
+    private final ConcurrentHashMap<String, CompletableFuture<Payment>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
 
     // Level fee structure in EGP (Egyptian Pounds)
     private static final double LEVEL_1_FEE = 15000.00;  // Freshman
@@ -21,13 +38,129 @@ public class PaymentServiceImpl implements PaymentService {
     private static final double LEVEL_3_FEE = 20000.00;  // Junior
     private static final double LEVEL_4_FEE = 22500.00;  // Senior
 
-    public PaymentServiceImpl(Connection connection) {
-        this.paymentDAO = new PaymentDAOImpl(connection);
-        this.paymentGateway = new MockPaymentGateway();
+    // Concurrent gateway calls; further requests wait in a bounded queue
+    private static final int DEFAULT_GATEWAY_CONCURRENCY = 8;
+    private static final int GATEWAY_QUEUE_CAPACITY = 500;
+    private static final long DEFAULT_GATEWAY_TIMEOUT_MS = 15_000;
+
+    public PaymentServiceImpl(DataSource dataSource) {
+        this(dataSource, new MockPaymentGateway(), DEFAULT_GATEWAY_CONCURRENCY, DEFAULT_GATEWAY_TIMEOUT_MS);
+    }
+
+    public PaymentServiceImpl(DataSource dataSource, PaymentGateway paymentGateway,
+                              int gatewayConcurrency, long gatewayTimeoutMs) {
+        this.paymentDAO = new PaymentDAOImpl(dataSource);
+        this.paymentGateway = paymentGateway;
+        this.gatewayTimeoutMs = gatewayTimeoutMs;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.gatewayExecutor = new ThreadPoolExecutor(
+                gatewayConcurrency, gatewayConcurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(GATEWAY_QUEUE_CAPACITY),
+                r -> {
+                    Thread t = new Thread(r, "ums-payment-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.gatewayExecutor.allowCoreThreadTimeOut(true);
     }
 
     @Override
     public Payment processPayment(PaymentRequest request) {
+        validateRequest(request);
+        try {
+            return submit(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the payment on the gateway worker pool. The future fails with a
+     * TimeoutException if the gateway does not answer within the timeout; the
+     * worker still finalizes the PENDING row once the gateway replies.
+     */
+    @Override
+    public CompletableFuture<Payment> processPaymentAsync(PaymentRequest request) {
+        try {
+            validateRequest(request);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        // copy() so one caller's timeout does not fail the shared future for the others
+        return submit(request).copy().orTimeout(gatewayTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts the gateway call for the request's idempotency key, or returns the
+     * call already in flight for that key. The key defaults to user and level,
+     * so double clicks and retries of the same level fee share one charge.
+     */
+    private CompletableFuture<Payment> submit(PaymentRequest request) {
+        String key = idempotencyKeyOf(request);
+        CompletableFuture<Payment> reservation = new CompletableFuture<>();
+        CompletableFuture<Payment> existing = inFlight.putIfAbsent(key, reservation);
+        if (existing != null) {
+            coalescedCount.incrementAndGet();
+            return existing;
+        }
+
+        try {
+            gatewayExecutor.execute(() -> {
+                try {
+                    reservation.complete(executePayment(request));
+                } catch (RuntimeException e) {
+                    reservation.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, reservation);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, reservation);
+            reservation.completeExceptionally(
+                    new IllegalStateException("Payment system is busy, please try again shortly", e));
+        }
+        return reservation;
+    }
+
+    private String idempotencyKeyOf(PaymentRequest request) {
+        if (request.getIdempotencyKey() != null && !request.getIdempotencyKey().isBlank()) {
+            return request.getIdempotencyKey();
+        }
+        return request.getUserId() + ":" + request.getLevel();
+    }
+
+    public long getCoalescedPaymentCount() {
+        return coalescedCount.get();
+    }
+
+    public int getActivePaymentCount() {
+        return gatewayExecutor.getActiveCount();
+    }
+
+    public int getQueuedPaymentCount() {
+        return gatewayExecutor.getQueue().size();
+    }
+
+    /**
+     * Stops accepting payments and waits for in-flight gateway calls, so no
+     * PENDING row is left behind by a normal shutdown.
+     */
+    public void shutdown() {
+        gatewayExecutor.shutdown();
+        try {
+            if (!gatewayExecutor.awaitTermination(gatewayTimeoutMs, TimeUnit.MILLISECONDS)) {
+                System.err.println("Payment gateway calls still running at shutdown: " + gatewayExecutor.getActiveCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void validateRequest(PaymentRequest request) {
         if (request.getAmount() <= 0) {
             throw new IllegalArgumentException("Payment amount must be greater than zero");
         }
@@ -35,11 +168,17 @@ public class PaymentServiceImpl implements PaymentService {
         if (request.getLevel() < 1 || request.getLevel() > 4) {
             throw new IllegalArgumentException("Invalid level. Level must be between 1 and 4");
         }
+    }
 
-        if (paymentDAO.hasUserPaidForLevel(request.getUserId(), request.getLevel())) {
-            throw new IllegalArgumentException("You have already paid for Level " + request.getLevel());
-        }
-
+    /**
+     * Records the payment as PENDING before calling the gateway, then finalizes
+     * the row with the gateway's outcome. The PENDING row also reserves the
+     * level: uq_payments_paid_level covers PENDING and SUCCESS rows, so a second
+     * payment for a paid or in-progress level is refused before anyone is
+     * charged. A crash in between leaves a PENDING row that can be reconciled
+     * instead of a charge with no record.
+     */
+    private Payment executePayment(PaymentRequest request) {
         Payment payment = new Payment(
             request.getUserId(),
             request.getLevel(),
@@ -50,16 +189,40 @@ public class PaymentServiceImpl implements PaymentService {
         );
         payment.setStatus("PENDING");
 
-        PaymentResult result = paymentGateway.processPayment(request);
+        if (!paymentDAO.save(payment)) {
+            if (paymentDAO.hasUserPaidForLevel(request.getUserId(), request.getLevel())) {
+                throw new IllegalArgumentException("You have already paid for Level " + request.getLevel());
+            }
+            boolean inProgress = paymentDAO.findByUserId(request.getUserId()).stream()
+                    .anyMatch(p -> p.getLevel() == request.getLevel() && "PENDING".equals(p.getStatus()));
+            if (inProgress) {
+                throw new IllegalArgumentException("A payment for Level " + request.getLevel() + " is already in progress");
+            }
+            throw new RuntimeException("Failed to save payment to database");
+        }
+
+        PaymentResult result;
+        try {
+            result = paymentGateway.processPayment(request);
+        } catch (RuntimeException e) {
+            payment.setStatus("FAILED");
+            paymentDAO.update(payment);
+            throw e;
+        }
 
+        // Written on its own first, so the charge stays on record even if the status change fails
         payment.setTransactionId(result.getTransactionId());
-        payment.setStatus(result.getStatus());
+        if (!paymentDAO.updateTransactionId(payment.getId(), result.getTransactionId())) {
+            throw new RuntimeException("Failed to record transaction " + result.getTransactionId() +
+                    "; payment " + payment.getId() + " was left PENDING for reconciliation");
+        }
 
-        if (paymentDAO.save(payment)) {
-            return payment;
-        } else {
-            throw new RuntimeException("Failed to save payment to database");
+        payment.setStatus(result.getStatus());
+        if (!paymentDAO.update(payment)) {
+            throw new RuntimeException("Failed to record the result of transaction " + result.getTransactionId() +
+                    "; payment " + payment.getId() + " was left PENDING with it for reconciliation");
         }
+        return payment;
     }
 
 
@@ -83,6 +246,24 @@ public class PaymentServiceImpl implements PaymentService {
         return paymentDAO.findAll();
     }
 
+    @Override
+    public Page<Payment> getPaymentsPage(int beforeId, int limit, String status, Integer level) {
+        return paymentDAO.findPage(beforeId, limit, status, level);
+    }
+
+    @Override
+    public Page<Payment> searchPayments(PaymentCriteria criteria, int beforeId, int limit) {
+        if (criteria.getCreatedFrom() != null && criteria.getCreatedTo() != null
+                && criteria.getCreatedFrom().isAfter(criteria.getCreatedTo())) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount() > criteria.getMaxAmount()) {
+            throw new IllegalArgumentException("Minimum amount must not exceed maximum amount");
+        }
+        return paymentDAO.findPage(criteria, beforeId, limit);
+    }
+
     @Override
     public boolean hasUserPaidForLevel(int userId, int level) {
         return paymentDAO.hasUserPaidForLevel(userId, level);
@@ -101,19 +282,17 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public double getTotalRevenue() {
-        List<Payment> successfulPayments = paymentDAO.findByStatus("SUCCESS");
-        return successfulPayments.stream()
-                .mapToDouble(Payment::getAmount)
-                .sum();
+        return paymentDAO.getPaymentSummary().getTotalRevenue();
     }
 
     @Override
     public double getTotalRevenueByLevel(int level) {
-        List<Payment> payments = paymentDAO.findByLevel(level);
-        return payments.stream()
-                .filter(p -> "SUCCESS".equals(p.getStatus()))
-                .mapToDouble(Payment::getAmount)
-                .sum();
+        return paymentDAO.getPaymentSummary().getRevenueForLevel(level);
+    }
+
+    @Override
+    public PaymentSummary getPaymentSummary() {
+        return paymentDAO.getPaymentSummary();
     }
 }
 
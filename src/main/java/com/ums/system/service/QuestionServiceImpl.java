@@ -5,15 +5,15 @@ import com.ums.system.dao.QuestionDAOImpl;
 import com.ums.system.model.Question;
 import com.ums.system.service.QuestionService;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
 import java.util.List;
 
 public class QuestionServiceImpl implements QuestionService {
 
     private final QuestionDAOImpl questionDAO;
 
-    public QuestionServiceImpl(Connection connection) {
-        this.questionDAO = new QuestionDAOImpl(connection);
+    public QuestionServiceImpl(DataSource dataSource) {
+        this.questionDAO = new QuestionDAOImpl(dataSource);
     }
 
     @Override
@@ -1,10 +1,14 @@
 package com.ums.system.service;
 
 import com.ums.system.model.QuizResult;
+import com.ums.system.model.SaveOutcome;
 import java.util.List;
 
 public interface QuizResultService {
     void saveResult(QuizResult result);
+    SaveOutcome saveResults(List<QuizResult> results);
     List<QuizResult> getResultsByStudentId(int studentId);
     List<QuizResult> getResultsByQuizId(int quizId);
+    List<QuizResult> getResultsByInstructorId(int instructorId);
+    int reconcileGrades();
 }
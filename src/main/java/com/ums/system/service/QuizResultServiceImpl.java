@@ -1,32 +1,146 @@
 package com.ums.system.service;
 
 import com.ums.system.dao.QuizResultDAOImpl;
-import com.ums.system.dao.StudentDAOImpl;
 import com.ums.system.model.QuizResult;
+import com.ums.system.model.SaveOutcome;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
 
 public class QuizResultServiceImpl implements QuizResultService {
 
+    // Upper bound on submissions written by one group-commit transaction
+    private static final int MAX_GROUP_SIZE = 200;
+
     private final QuizResultDAOImpl quizResultDAO;
-    private final StudentDAOImpl studentDAO;
+    private final BlockingQueue<PendingResult> pendingResults = new LinkedBlockingQueue<>();
+    private final boolean groupCommit;
+    private Thread committer;
+    private volatile boolean closed;
+
+    public QuizResultServiceImpl(DataSource dataSource) {
+        this(dataSource, false);
+    }
+
+    /**
+     * @param groupCommit when true, concurrent {@link #saveResult} calls are
+     *                    coalesced: while one group is being committed the next
+     *                    ones queue up and are written together in a single
+     *                    transaction. A lone submission is written immediately.
+     */
+    public QuizResultServiceImpl(DataSource dataSource, boolean groupCommit) {
+        this.quizResultDAO = new QuizResultDAOImpl(dataSource);
+        this.groupCommit = groupCommit;
+        if (groupCommit) {
+            committer = new Thread(this::commitGroups, "ums-result-committer");
+            committer.setDaemon(true);
+            committer.start();
+        }
+    }
+
+    private static class PendingResult {
+        final QuizResult result;
+        final CompletableFuture<Void> committed = new CompletableFuture<>();
 
-    public QuizResultServiceImpl(Connection connection) {
-        this.quizResultDAO = new QuizResultDAOImpl(connection);
-        this.studentDAO = new StudentDAOImpl(connection);
+        PendingResult(QuizResult result) {
+            this.result = result;
+        }
     }
 
+    /**
+     * Saves the result, its answers and the student's grade totals atomically.
+     * Blocks until the data is committed.
+     *
+     * @throws IllegalStateException if the result could not be saved
+     */
     @Override
     public void saveResult(QuizResult result) {
-        quizResultDAO.insert(result);
+        if (!groupCommit) {
+            if (!quizResultDAO.insertAll(List.of(result)).isSaved()) {
+                throw new IllegalStateException("Could not save quiz result");
+            }
+        } else {
+            PendingResult pending = new PendingResult(result);
+            // Checked and queued under the lock shutdown() takes, so nothing is queued after the committer stops
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("Quiz result service is shut down");
+                }
+                pendingResults.add(pending);
+            }
+            try {
+                pending.committed.join();
+            } catch (CompletionException e) {
+                throw (RuntimeException) e.getCause();
+            }
+        }
+        System.out.println("Quiz result saved and grade updated for student " + result.getStudent().getId());
+    }
+
+    /**
+     * Writes an already-batched group of results in one transaction, bypassing
+     * group commit.
+     *
+     * @return SAVED if every result was committed, otherwise why not
+     */
+    @Override
+    public SaveOutcome saveResults(List<QuizResult> results) {
+        return quizResultDAO.insertAll(results);
+    }
+
+    private void commitGroups() {
+        List<PendingResult> group = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                group.add(pendingResults.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            pendingResults.drainTo(group, MAX_GROUP_SIZE - 1);
 
-        int studentId = result.getStudent().getId();
-        double averageGrade = quizResultDAO.calculateAverageGrade(studentId);
+            List<QuizResult> results = new ArrayList<>(group.size());
+            group.forEach(p -> results.add(p.result));
+            SaveOutcome outcome = quizResultDAO.insertAll(results);
+            if (outcome.isSaved()) {
+                group.forEach(p -> p.committed.complete(null));
+            } else if (outcome == SaveOutcome.UNAVAILABLE) {
+                // Retrying one by one cannot help while the database is unreachable
+                group.forEach(p -> p.committed.completeExceptionally(
+                        new IllegalStateException("Database is unavailable, quiz result not saved")));
+            } else {
+                // Retry one by one so a single bad submission does not fail the whole group
+                for (PendingResult pending : group) {
+                    if (group.size() > 1 && quizResultDAO.insertAll(List.of(pending.result)).isSaved()) {
+                        pending.committed.complete(null);
+                    } else {
+                        pending.committed.completeExceptionally(new IllegalStateException("Could not save quiz result"));
+                    }
+                }
+            }
+            group.clear();
+        }
 
-        studentDAO.updateGrade(studentId, averageGrade);
+        failPendingResults();
+    }
+
+    /**
+     * Fails every queued result, so no caller stays blocked on a committer that is gone.
+     */
+    private void failPendingResults() {
+        PendingResult pending;
+        while ((pending = pendingResults.poll()) != null) {
+            pending.committed.completeExceptionally(new IllegalStateException("Quiz result service is shut down"));
+        }
+    }
 
-        System.out.println("Student grade updated to: " + String.format("%.2f", averageGrade) + "%");
+    public int getPendingResultCount() {
+        return pendingResults.size();
     }
 
     @Override
@@ -38,4 +152,32 @@ public class QuizResultServiceImpl implements QuizResultService {
     public List<QuizResult> getResultsByQuizId(int quizId) {
         return quizResultDAO.getByQuizId(quizId);
     }
+
+    @Override
+    public List<QuizResult> getResultsByInstructorId(int instructorId) {
+        return quizResultDAO.getByInstructorId(instructorId);
+    }
+
+    /**
+     * Rebuilds every student's running grade totals from quiz_results in one
+     * table-wide statement. Deletes keep the totals in step on their own; this
+     * is an admin action for an upgraded database or a manual repair.
+     */
+    @Override
+    public int reconcileGrades() {
+        long start = System.currentTimeMillis();
+        int updated = quizResultDAO.reconcileGrades();
+        System.out.println("Grade reconciliation updated " + updated + " students in " +
+                           (System.currentTimeMillis() - start) + " ms");
+        return updated;
+    }
+
+    public synchronized void shutdown() {
+        closed = true;
+        if (committer != null) {
+            committer.interrupt();
+            committer = null;
+        }
+        failPendingResults();
+    }
 }
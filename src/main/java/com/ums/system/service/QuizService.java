@@ -1,6 +1,7 @@
 package com.ums.system.service;
 
 import com.ums.system.model.Quiz;
+import com.ums.system.model.QuizSummary;
 import java.util.List;
 
 public interface QuizService {
@@ -11,4 +12,8 @@ public interface QuizService {
     List<Quiz> getAllQuizzes();
     List<Quiz> getQuizzesByCourseCode(String courseCode);
     List<Quiz> getQuizzesByInstructor(int instructorId);
+    List<QuizSummary> getAllQuizSummaries();
+    List<QuizSummary> getQuizSummariesByCourseCode(String courseCode);
+    List<QuizSummary> getQuizSummariesByInstructor(int instructorId);
+    List<QuizSummary> getQuizSummariesByStudent(int studentId);
 }
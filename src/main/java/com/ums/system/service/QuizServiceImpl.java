@@ -1,29 +1,33 @@
 package com.ums.system.service;
 
-import com.ums.system.dao.CourseDAOImpl;
 import com.ums.system.dao.QuestionDAOImpl;
 import com.ums.system.dao.QuizDAO;
 import com.ums.system.dao.QuizDAOImpl;
 import com.ums.system.model.Course;
 import com.ums.system.model.Quiz;
+import com.ums.system.model.QuizSummary;
 import com.ums.system.service.QuizService;
+import com.ums.system.util.QuizCache;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
 import java.util.List;
 
 public class QuizServiceImpl implements QuizService {
 
+    private static final int QUIZ_CACHE_SIZE = 256;
+
     private final QuizDAOImpl quizDAO;
-    private final CourseDAOImpl courseDAO;
+    private final CourseService courseService;
+    private final QuizCache quizCache = new QuizCache(QUIZ_CACHE_SIZE);
 
-    public QuizServiceImpl(Connection connection) {
-        this.quizDAO = new QuizDAOImpl(connection, new QuestionDAOImpl(connection));
-        this.courseDAO = new CourseDAOImpl(connection);
+    public QuizServiceImpl(DataSource dataSource, CourseService courseService) {
+        this.quizDAO = new QuizDAOImpl(dataSource, new QuestionDAOImpl(dataSource));
+        this.courseService = courseService;
     }
 
     @Override
     public boolean createQuiz(Quiz quiz, int instructorId) {
-        Course course = courseDAO.getByCode(quiz.getCourseCode());
+        Course course = courseService.getCourseByCode(quiz.getCourseCode());
 
         if (course == null) {
             System.out.println("Course with code " + quiz.getCourseCode() + " does not exist.");
@@ -41,17 +45,43 @@ public class QuizServiceImpl implements QuizService {
 
     @Override
     public void updateQuiz(Quiz quiz) {
+        // Results already submitted are re-graded in the same transaction if the answer key changed
         quizDAO.update(quiz);
+        quizCache.invalidate(quiz.getId());
     }
 
     @Override
     public void deleteQuiz(int id) {
         quizDAO.delete(id);
+        quizCache.invalidate(id);
     }
 
+    /**
+     * Returns the read-only definition of the quiz, shared by everyone taking
+     * it in this process. The cached copy is checked against the stored
+     * version on every call and reloaded if the quiz was edited elsewhere, so
+     * a taker never grades against an answer key that has since been fixed.
+     */
     @Override
     public Quiz getQuizById(int id) {
-        return quizDAO.getById(id);
+        Quiz quiz = quizCache.get(id, quizDAO::getById);
+        if (quiz != null && quiz.getVersion() != quizDAO.getVersion(id)) {
+            quizCache.invalidate(id);
+            quiz = quizCache.get(id, quizDAO::getById);
+        }
+        return quiz;
+    }
+
+    public double getCacheHitRate() {
+        return quizCache.getHitRate();
+    }
+
+    public long getCacheFootprintBytes() {
+        return quizCache.getEstimatedBytes();
+    }
+
+    public String getCacheStats() {
+        return quizCache.getStats();
     }
 
     @Override
@@ -68,4 +98,30 @@ public class QuizServiceImpl implements QuizService {
     public List<Quiz> getQuizzesByInstructor(int instructorId) {
         return quizDAO.getByInstructorId(instructorId);
     }
+
+    @Override
+    public List<QuizSummary> getAllQuizSummaries() {
+        return quizDAO.getSummaries();
+    }
+
+    @Override
+    public List<QuizSummary> getQuizSummariesByCourseCode(String courseCode) {
+        if (courseCode == null || courseCode.isBlank()) {
+            throw new IllegalArgumentException("Course code is required");
+        }
+        return quizDAO.getSummariesByCourseCode(courseCode);
+    }
+
+    @Override
+    public List<QuizSummary> getQuizSummariesByInstructor(int instructorId) {
+        return quizDAO.getSummariesByInstructorId(instructorId);
+    }
+
+    /**
+     * Quizzes of every course the student is enrolled in.
+     */
+    @Override
+    public List<QuizSummary> getQuizSummariesByStudent(int studentId) {
+        return quizDAO.getSummariesByStudentId(studentId);
+    }
 }
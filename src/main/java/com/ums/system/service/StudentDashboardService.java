@@ -0,0 +1,8 @@
+package com.ums.system.service;
+
+import com.ums.system.model.StudentDashboard;
+
+public interface StudentDashboardService {
+    StudentDashboard getDashboard(int studentId);
+    void invalidate(int studentId);
+}
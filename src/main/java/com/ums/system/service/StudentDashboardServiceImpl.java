@@ -0,0 +1,74 @@
+package com.ums.system.service;
+
+import com.ums.system.dao.StudentDashboardDAO;
+import com.ums.system.dao.StudentDashboardDAOImpl;
+import com.ums.system.model.StudentDashboard;
+import com.ums.system.util.LruCache;
+
+import javax.sql.DataSource;
+
+/**
+ * Serves dashboard summaries from a short-lived cache, so the dashboard cards,
+ * the grades tab and the student details screen share one query. Screens that
+ * change a student's enrollments, payments or results call {@link #invalidate};
+ * anything else (such as queued quiz submissions landing later) shows up once
+ * the entry expires.
+ */
+public class StudentDashboardServiceImpl implements StudentDashboardService {
+
+    private static final int CACHE_SIZE = 500;
+    private static final long DEFAULT_TTL_MS = 30_000;
+
+    private static class Entry {
+        final StudentDashboard dashboard;
+        final long loadedAt;
+
+        Entry(StudentDashboard dashboard, long loadedAt) {
+            this.dashboard = dashboard;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final StudentDashboardDAO dashboardDAO;
+    private final LruCache<Integer, Entry> cache = new LruCache<>(CACHE_SIZE);
+    private final long ttlMs;
+
+    public StudentDashboardServiceImpl(DataSource dataSource) {
+        this(dataSource, DEFAULT_TTL_MS);
+    }
+
+    public StudentDashboardServiceImpl(DataSource dataSource, long ttlMs) {
+        this.dashboardDAO = new StudentDashboardDAOImpl(dataSource);
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Returns the student's dashboard summary, or null if there is no such student.
+     */
+    @Override
+    public StudentDashboard getDashboard(int studentId) {
+        Entry entry = cache.get(studentId);
+        long now = System.currentTimeMillis();
+        if (entry != null && now - entry.loadedAt < ttlMs) {
+            return entry.dashboard;
+        }
+        if (entry != null) {
+            cache.invalidate(studentId);
+        }
+
+        Entry loaded = cache.get(studentId, id -> {
+            StudentDashboard dashboard = dashboardDAO.getDashboard(id);
+            return dashboard != null ? new Entry(dashboard, System.currentTimeMillis()) : null;
+        });
+        return loaded != null ? loaded.dashboard : null;
+    }
+
+    @Override
+    public void invalidate(int studentId) {
+        cache.invalidate(studentId);
+    }
+
+    public String getCacheStats() {
+        return cache.getStats();
+    }
+}
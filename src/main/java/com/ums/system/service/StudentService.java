@@ -1,5 +1,7 @@
 package com.ums.system.service;
 
+import com.ums.system.model.Department;
+import com.ums.system.model.Page;
 import com.ums.system.model.Student;
 import java.util.List;
 
@@ -10,5 +12,6 @@ public interface StudentService {
     Student getStudentById(int id);
     Student getStudentByEmail(String email);
     List<Student> getAllStudents();
+    Page<Student> getStudentsPage(int afterId, int limit, Integer level, Department department);
     void updateStudentGrade(int studentId, double grade);
 }
@@ -1,18 +1,20 @@
 package com.ums.system.service;
 
 import com.ums.system.dao.StudentDAOImpl;
+import com.ums.system.model.Department;
+import com.ums.system.model.Page;
 import com.ums.system.model.Student;
 import com.ums.system.utils.ValidationUtil;
 import com.ums.system.utils.PasswordUtil;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
 import java.util.List;
 
 public class StudentServiceImpl implements StudentService {
     private final StudentDAOImpl studentDAO;
 
-    public StudentServiceImpl(Connection connection) {
-        this.studentDAO = new StudentDAOImpl(connection);
+    public StudentServiceImpl(DataSource dataSource) {
+        this.studentDAO = new StudentDAOImpl(dataSource);
     }
 
     @Override
@@ -75,6 +77,11 @@ public class StudentServiceImpl implements StudentService {
         return studentDAO.getAll();
     }
 
+    @Override
+    public Page<Student> getStudentsPage(int afterId, int limit, Integer level, Department department) {
+        return studentDAO.getPage(afterId, limit, level, department);
+    }
+
     @Override
     public void updateStudentGrade(int studentId, double grade) {
         studentDAO.updateGrade(studentId, grade);
@@ -0,0 +1,16 @@
+package com.ums.system.service;
+
+import com.ums.system.model.QuizResult;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface SubmissionQueueService {
+    CompletableFuture<Void> submit(QuizResult result);
+    int getQueueDepth();
+    long getDrainedCount();
+    long getLastDrainLatencyMs();
+    long getMaxDrainLatencyMs();
+    long getRejectedCount();
+    int retryRejected();
+    String getStats();
+}
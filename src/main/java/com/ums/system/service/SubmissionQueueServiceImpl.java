@@ -0,0 +1,503 @@
+package com.ums.system.service;
+
+import com.ums.system.model.Question;
+import com.ums.system.model.Quiz;
+import com.ums.system.model.QuizResult;
+import com.ums.system.model.Role;
+import com.ums.system.model.SaveOutcome;
+import com.ums.system.model.Student;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accepts graded quiz results without waiting for the database. Each result is
+ * appended to a local journal and fsynced before {@link #submit} returns, then
+ * a single background thread drains the queue to the database in batches.
+ * Results still in the journal at startup (for example after a crash) are
+ * replayed.
+ *
+ * While the database is unreachable the whole queue waits, retrying with a
+ * capped backoff, however long the outage lasts. Only a submission the
+ * database refuses outright is retried alone and, after a few attempts, moved
+ * to a {@code .rejected} file, which an admin can send back to the queue with
+ * {@link #retryRejected}.
+ *
+ * Delivery is at-least-once: a crash between a batch commit and its journal
+ * acknowledgement replays that batch on the next start. Each submission is
+ * journaled with a random submission id that quiz_results holds under a
+ * unique key, so a replayed submission that was already committed is skipped
+ * instead of being stored and counted twice.
+ *
+ * Journal lines are tab separated:
+ * {@code S seq submissionId studentId quizId score answers} for a submission,
+ * where answers is a comma separated list of
+ * {@code questionId:optionIndex:base64(answer)} (the index is empty when not
+ * known), and {@code A seq} once it is committed.
+ */
+public class SubmissionQueueServiceImpl implements SubmissionQueueService {
+
+    private static final int DEFAULT_CAPACITY = 5000;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long MIN_RETRY_DELAY_MS = 500;
+    private static final long MAX_RETRY_DELAY_MS = 30_000;
+
+    private final QuizResultService quizResultService;
+    private final Path journalPath;
+    private final Path rejectedPath;
+    private final int capacity;
+    private final int batchSize;
+
+    private final BlockingQueue<QueuedSubmission> queue = new LinkedBlockingQueue<>();
+    private final Object journalLock = new Object();
+    private final FileChannel journal;
+    private long nextSequence = 1;
+    private volatile int inFlight;
+    private volatile boolean running = true;
+    private final Thread drainer;
+
+    private final AtomicLong drainedCount = new AtomicLong();
+    private final AtomicLong failedBatchCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private volatile long lastDrainLatencyMs;
+    private volatile long maxDrainLatencyMs;
+
+    private static class QueuedSubmission {
+        final long sequence;
+        final QuizResult result;
+        final long acceptedAt;
+        // Completed once the submission is committed to the database
+        final CompletableFuture<Void> saved = new CompletableFuture<>();
+        int attempts;
+
+        QueuedSubmission(long sequence, QuizResult result, long acceptedAt) {
+            this.sequence = sequence;
+            this.result = result;
+            this.acceptedAt = acceptedAt;
+        }
+    }
+
+    public SubmissionQueueServiceImpl(QuizResultService quizResultService, Path journalPath) {
+        this(quizResultService, journalPath, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    public SubmissionQueueServiceImpl(QuizResultService quizResultService, Path journalPath,
+                                      int capacity, int batchSize) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Capacity and batch size must be at least 1");
+        }
+        this.quizResultService = quizResultService;
+        this.journalPath = journalPath;
+        this.rejectedPath = journalPath.resolveSibling(journalPath.getFileName() + ".rejected");
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+
+        try {
+            replayJournal();
+            rejectedCount.set(countLines(rejectedPath));
+            if (rejectedCount.get() > 0) {
+                System.err.println(rejectedCount.get() + " rejected quiz submissions are waiting in " + rejectedPath);
+            }
+            this.journal = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open submission journal " + journalPath, e);
+        }
+
+        drainer = new Thread(this::drain, "ums-submission-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Journals the result and queues it for the database. Returns once the
+     * result is durable on local disk, with a future that completes when the
+     * result is committed to the database, or fails if the database refuses
+     * it. Callbacks on the future run on the drainer thread.
+     *
+     * @throws IllegalStateException if the queue is full or shut down
+     */
+    @Override
+    public CompletableFuture<Void> submit(QuizResult result) {
+        synchronized (journalLock) {
+            if (!running) {
+                throw new IllegalStateException("Submission queue is shut down");
+            }
+            if (queue.size() + inFlight >= capacity) {
+                throw new IllegalStateException("Too many submissions are waiting to be saved, please try again");
+            }
+            if (result.getSubmissionId() == null) {
+                result.setSubmissionId(UUID.randomUUID().toString());
+            }
+            long sequence = nextSequence++;
+            try {
+                appendToJournal(encode(sequence, result), true);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not record submission: " + e.getMessage(), e);
+            }
+            QueuedSubmission submission = new QueuedSubmission(sequence, result, System.currentTimeMillis());
+            queue.add(submission);
+            return submission.saved;
+        }
+    }
+
+    private void drain() {
+        List<QueuedSubmission> batch = new ArrayList<>();
+        long retryDelay = MIN_RETRY_DELAY_MS;
+        int limit = batchSize;
+
+        while (running || !queue.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    QueuedSubmission first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, limit - 1);
+                    inFlight = batch.size();
+                }
+
+                List<QuizResult> results = new ArrayList<>(batch.size());
+                batch.forEach(s -> results.add(s.result));
+                SaveOutcome outcome = quizResultService.saveResults(results);
+                if (outcome.isSaved()) {
+                    acknowledge(batch);
+                    batch.clear();
+                    retryDelay = MIN_RETRY_DELAY_MS;
+                    limit = batchSize;
+                    continue;
+                }
+
+                failedBatchCount.incrementAndGet();
+                if (outcome == SaveOutcome.UNAVAILABLE) {
+                    // Nothing is wrong with the submissions; hold the batch until the database is back
+                } else if (batch.size() > 1) {
+                    // Put the batch back and retry one at a time to isolate a bad submission
+                    batch.subList(1, batch.size()).forEach(queue::add);
+                    batch.subList(1, batch.size()).clear();
+                    inFlight = 1;
+                    limit = 1;
+                } else if (++batch.get(0).attempts >= MAX_ATTEMPTS) {
+                    reject(batch.get(0));
+                    batch.clear();
+                    retryDelay = MIN_RETRY_DELAY_MS;
+                    continue;
+                }
+                if (!running) {
+                    break;
+                }
+                Thread.sleep(retryDelay);
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        inFlight = 0;
+    }
+
+    private void acknowledge(List<QueuedSubmission> batch) {
+        long now = System.currentTimeMillis();
+        StringBuilder acks = new StringBuilder();
+        for (QueuedSubmission submission : batch) {
+            acks.append("A\t").append(submission.sequence).append('\n');
+            long latency = now - submission.acceptedAt;
+            lastDrainLatencyMs = latency;
+            maxDrainLatencyMs = Math.max(maxDrainLatencyMs, latency);
+        }
+        drainedCount.addAndGet(batch.size());
+
+        synchronized (journalLock) {
+            inFlight = 0;
+            try {
+                if (queue.isEmpty()) {
+                    // Everything journaled so far is committed
+                    journal.truncate(0);
+                } else {
+                    appendToJournal(acks.toString(), true);
+                }
+            } catch (IOException e) {
+                // The batch is committed; at worst it is replayed after a restart
+                System.err.println("Could not acknowledge submissions in journal - " + e.getMessage());
+            }
+        }
+        batch.forEach(submission -> submission.saved.complete(null));
+    }
+
+    private void reject(QueuedSubmission submission) {
+        rejectedCount.incrementAndGet();
+        System.err.println("Giving up on quiz submission " + submission.sequence + " for student " +
+                           submission.result.getStudent().getId() + " after " + MAX_ATTEMPTS +
+                           " attempts; it is kept in " + rejectedPath);
+        synchronized (journalLock) {
+            inFlight = 0;
+            try {
+                Files.writeString(rejectedPath, encode(submission.sequence, submission.result),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                appendToJournal("A\t" + submission.sequence + "\n", true);
+            } catch (IOException e) {
+                System.err.println("Could not record rejected submission - " + e.getMessage());
+            }
+        }
+        submission.saved.completeExceptionally(new IllegalStateException("Quiz submission could not be saved"));
+    }
+
+    /**
+     * Sends every submission the database refused back to the queue, for
+     * example once the data it was missing has been restored. Submissions that
+     * are refused again end up rejected again.
+     *
+     * @return the number of submissions re-queued
+     */
+    @Override
+    public int retryRejected() {
+        synchronized (journalLock) {
+            if (!running) {
+                throw new IllegalStateException("Submission queue is shut down");
+            }
+            if (!Files.exists(rejectedPath)) {
+                return 0;
+            }
+            try {
+                List<QuizResult> results = new ArrayList<>();
+                for (String line : Files.readAllLines(rejectedPath, StandardCharsets.UTF_8)) {
+                    try {
+                        results.add(decode(line.split("\t", -1)));
+                    } catch (RuntimeException e) {
+                        System.err.println("Skipping unreadable rejected submission: " + line);
+                    }
+                }
+
+                StringBuilder lines = new StringBuilder();
+                List<QueuedSubmission> requeued = new ArrayList<>(results.size());
+                long now = System.currentTimeMillis();
+                for (QuizResult result : results) {
+                    long sequence = nextSequence++;
+                    lines.append(encode(sequence, result));
+                    requeued.add(new QueuedSubmission(sequence, result, now));
+                }
+                // Journaled before the rejected file goes, so a crash in between loses nothing
+                appendToJournal(lines.toString(), true);
+                Files.delete(rejectedPath);
+                queue.addAll(requeued);
+                rejectedCount.set(0);
+                return requeued.size();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not re-queue rejected submissions: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static long countLines(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (var lines = Files.lines(path, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> !line.isBlank()).count();
+        }
+    }
+
+    private void appendToJournal(String lines, boolean sync) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+        if (sync) {
+            journal.force(false);
+        }
+    }
+
+    private static String encode(long sequence, QuizResult result) {
+        StringBuilder line = new StringBuilder("S\t")
+                .append(sequence).append('\t')
+                .append(result.getSubmissionId()).append('\t')
+                .append(result.getStudent().getId()).append('\t')
+                .append(result.getQuiz().getId()).append('\t')
+                .append(result.getScore()).append('\t');
+        Base64.Encoder encoder = Base64.getEncoder();
+        boolean first = true;
+        for (Map.Entry<Question, String> answer : result.getAnswers().entrySet()) {
+            if (answer.getValue() == null) {
+                continue;
+            }
+            if (!first) {
+                line.append(',');
+            }
+            Integer chosen = result.getChosenOptions().get(answer.getKey().getId());
+            line.append(answer.getKey().getId()).append(':')
+                .append(chosen != null ? chosen.toString() : "").append(':')
+                .append(encoder.encodeToString(answer.getValue().getBytes(StandardCharsets.UTF_8)));
+            first = false;
+        }
+        return line.append('\n').toString();
+    }
+
+    /**
+     * Rebuilds a result from an S line. Only the ids needed to persist it are
+     * restored.
+     */
+    private static QuizResult decode(String[] fields) {
+        int studentId = Integer.parseInt(fields[3]);
+        int quizId = Integer.parseInt(fields[4]);
+        int score = Integer.parseInt(fields[5]);
+
+        Map<Question, String> answers = new LinkedHashMap<>();
+        Map<Integer, Integer> chosenOptions = new HashMap<>();
+        if (fields.length > 6 && !fields[6].isEmpty()) {
+            Base64.Decoder decoder = Base64.getDecoder();
+            for (String entry : fields[6].split(",")) {
+                String[] parts = entry.split(":", -1);
+                int questionId = Integer.parseInt(parts[0]);
+                if (!parts[1].isEmpty()) {
+                    chosenOptions.put(questionId, Integer.parseInt(parts[1]));
+                }
+                Question question = new Question(questionId, "", new ArrayList<>(), 0);
+                answers.put(question, new String(decoder.decode(parts[2]), StandardCharsets.UTF_8));
+            }
+        }
+        Student student = new Student(studentId, null, null, null, Role.STUDENT, 0, null, null, 0, null, 0.0);
+        Quiz quiz = new Quiz(quizId, null, null, new ArrayList<>(answers.keySet()));
+        QuizResult result = new QuizResult(student, quiz, score, answers);
+        result.setChosenOptions(chosenOptions);
+        result.setSubmissionId(fields[2]);
+        return result;
+    }
+
+    /**
+     * Re-queues submissions that were journaled but never acknowledged and
+     * rewrites the journal with just those.
+     */
+    private void replayJournal() throws IOException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+
+        Map<Long, String> pendingLines = new TreeMap<>();
+        Map<Long, String[]> pendingFields = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                try {
+                    long sequence = Long.parseLong(fields[1]);
+                    nextSequence = Math.max(nextSequence, sequence + 1);
+                    if ("S".equals(fields[0]) && fields.length >= 6) {
+                        pendingLines.put(sequence, line);
+                        pendingFields.put(sequence, fields);
+                    } else if ("A".equals(fields[0])) {
+                        pendingLines.remove(sequence);
+                        pendingFields.remove(sequence);
+                    }
+                } catch (RuntimeException e) {
+                    // Most likely a line torn by a crash mid-write
+                    System.err.println("Skipping unreadable journal line: " + line);
+                }
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        StringBuilder compacted = new StringBuilder();
+        for (Map.Entry<Long, String> entry : pendingLines.entrySet()) {
+            try {
+                queue.add(new QueuedSubmission(entry.getKey(), decode(pendingFields.get(entry.getKey())), now));
+                compacted.append(entry.getValue()).append('\n');
+            } catch (RuntimeException e) {
+                System.err.println("Skipping unreadable journal entry: " + entry.getValue());
+            }
+        }
+
+        Path compactedPath = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        Files.writeString(compactedPath, compacted.toString(), StandardCharsets.UTF_8);
+        Files.move(compactedPath, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        if (!queue.isEmpty()) {
+            System.out.println("Replaying " + queue.size() + " unsaved quiz submissions from " + journalPath);
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queue.size() + inFlight;
+    }
+
+    @Override
+    public long getDrainedCount() {
+        return drainedCount.get();
+    }
+
+    @Override
+    public long getLastDrainLatencyMs() {
+        return lastDrainLatencyMs;
+    }
+
+    @Override
+    public long getMaxDrainLatencyMs() {
+        return maxDrainLatencyMs;
+    }
+
+    public long getFailedBatchCount() {
+        return failedBatchCount.get();
+    }
+
+    /**
+     * Submissions the database refused that have not been retried yet,
+     * including ones rejected before this start.
+     */
+    @Override
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @Override
+    public String getStats() {
+        return "depth=" + getQueueDepth() + ", drained=" + drainedCount.get() +
+               ", lastLatency=" + lastDrainLatencyMs + "ms, maxLatency=" + maxDrainLatencyMs + "ms" +
+               ", failedBatches=" + failedBatchCount.get() + ", rejected=" + rejectedCount.get();
+    }
+
+    /**
+     * Stops accepting submissions and gives the drainer a moment to flush what
+     * is queued. Anything left stays in the journal for the next start.
+     */
+    public void shutdown() {
+        synchronized (journalLock) {
+            running = false;
+        }
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainer.interrupt();
+        synchronized (journalLock) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Error closing submission journal - " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.ums.system.util;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs controller data loads off the JavaFX Application Thread.
+ * Each controller owns one loader; loads are identified by a key, and starting
+ * a load supersedes (and cancels) the previous one with the same key, so only
+ * the latest result for a table or label is ever applied. Results and errors
+ * are delivered on the FX thread. All public methods must be called from the
+ * FX thread.
+ */
+public class AsyncLoader {
+
+    private static final int WORKER_COUNT = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int QUEUE_CAPACITY = 256;
+    private static final String PLACEHOLDER_KEY = "asyncLoader.placeholder";
+
+    // Shared by every controller; bounded so a burst of refreshes cannot pile up threads
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private final Map<String, Future<?>> running = new ConcurrentHashMap<>();
+    private final Map<String, Long> tickets = new ConcurrentHashMap<>();
+
+    private static ThreadPoolExecutor createExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                WORKER_COUNT, WORKER_COUNT, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                r -> {
+                    Thread t = new Thread(r, "ums-loader-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs {@code task} in the background and hands its result to {@code onSuccess}
+     * on the FX thread. The callback is skipped if a newer load with the same key
+     * was started or the loader was cancelled in the meantime.
+     */
+    public <T> void load(String key, Callable<T> task, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        long ticket = tickets.merge(key, 1L, Long::sum);
+
+        Future<?> future;
+        try {
+            future = EXECUTOR.submit(() -> {
+                try {
+                    T result = task.call();
+                    deliver(key, ticket, () -> onSuccess.accept(result));
+                } catch (Exception e) {
+                    deliver(key, ticket, () -> onError.accept(e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.err.println("AsyncLoader: rejected load '" + key + "' - " + e.getMessage());
+            onError.accept(e);
+            return;
+        }
+
+        Future<?> previous = running.put(key, future);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+    }
+
+    /**
+     * Loads rows into {@code table}, showing a progress indicator as the
+     * placeholder until the rows arrive. The table's own placeholder is restored
+     * afterwards; {@code onLoaded} may replace it.
+     */
+    public <T> void loadTable(String key, TableView<T> table, Callable<List<T>> task,
+                              Consumer<List<T>> onLoaded, Consumer<Exception> onError) {
+        showProgress(table);
+        load(key, task, rows -> {
+            restorePlaceholder(table);
+            table.setItems(FXCollections.observableArrayList(rows));
+            if (onLoaded != null) {
+                onLoaded.accept(rows);
+            }
+        }, e -> {
+            restorePlaceholder(table);
+            onError.accept(e);
+        });
+    }
+
+    /**
+     * Drops every in-flight load of this loader. Called when the user leaves the
+     * screen so late results are not applied to a dead view.
+     */
+    public void cancelAll() {
+        // Bumping the tickets makes any result already queued for the FX thread stale
+        tickets.replaceAll((key, ticket) -> ticket + 1);
+        running.values().forEach(f -> f.cancel(true));
+        running.clear();
+    }
+
+    public static int getQueuedCount() {
+        return EXECUTOR.getQueue().size();
+    }
+
+    public static int getActiveCount() {
+        return EXECUTOR.getActiveCount();
+    }
+
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    private void deliver(String key, long ticket, Runnable callback) {
+        Platform.runLater(() -> {
+            Long current = tickets.get(key);
+            if (current == null || current != ticket) {
+                return; // superseded or cancelled
+            }
+            running.remove(key);
+            callback.run();
+        });
+    }
+
+    static void showProgress(TableView<?> table) {
+        if (!table.getProperties().containsKey(PLACEHOLDER_KEY)) {
+            table.getProperties().put(PLACEHOLDER_KEY, table.getPlaceholder());
+        }
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setMaxSize(40, 40);
+        table.setPlaceholder(indicator);
+        table.setItems(FXCollections.observableArrayList());
+    }
+
+    static void restorePlaceholder(TableView<?> table) {
+        if (table.getProperties().containsKey(PLACEHOLDER_KEY)) {
+            table.setPlaceholder((Node) table.getProperties().remove(PLACEHOLDER_KEY));
+        }
+    }
+}
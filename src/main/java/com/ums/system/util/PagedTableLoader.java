@@ -0,0 +1,158 @@
+package com.ums.system.util;
+
+import com.ums.system.model.Page;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fills a table one keyset page at a time. The first page replaces the table's
+ * rows; further pages are appended as the user scrolls near the bottom, so
+ * large tables never load every row up front. Page loads run through the
+ * controller's {@link AsyncLoader} under a single key, which means a reload
+ * (for example after a filter change) supersedes any page still in flight.
+ * All methods must be called from the FX thread.
+ */
+public class PagedTableLoader<T, K> {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    // Fraction of the scroll range after which the next page is requested
+    private static final double PREFETCH_THRESHOLD = 0.85;
+
+    @FunctionalInterface
+    public interface PageFetcher<T, K> {
+        /** Fetches up to {@code limit} rows after {@code after}; {@code after} is null for the first page. */
+        Page<T> fetch(K after, int limit) throws Exception;
+    }
+
+    private final AsyncLoader asyncLoader;
+    private final String key;
+    private final TableView<T> table;
+    private final int pageSize;
+    private final Function<T, K> keyOf;
+    private final Consumer<Exception> onError;
+
+    private PageFetcher<T, K> fetcher;
+    private K cursor;
+    private boolean hasMore;
+    private boolean loading;
+    private ScrollBar scrollBar;
+
+    public PagedTableLoader(AsyncLoader asyncLoader, String key, TableView<T> table,
+                            Function<T, K> keyOf, Consumer<Exception> onError) {
+        this(asyncLoader, key, table, DEFAULT_PAGE_SIZE, keyOf, onError);
+    }
+
+    public PagedTableLoader(AsyncLoader asyncLoader, String key, TableView<T> table, int pageSize,
+                            Function<T, K> keyOf, Consumer<Exception> onError) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        this.asyncLoader = asyncLoader;
+        this.key = key;
+        this.table = table;
+        this.pageSize = pageSize;
+        this.keyOf = keyOf;
+        this.onError = onError;
+
+        // The scroll bar only exists once the table has a skin
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> Platform.runLater(this::attachScrollBar));
+        if (table.getSkin() != null) {
+            attachScrollBar();
+        }
+    }
+
+    /**
+     * Clears the table and starts again from the first page using {@code fetcher}.
+     * Filters should be captured by the fetcher when it is created so later
+     * pages keep using the same criteria.
+     */
+    public void reload(PageFetcher<T, K> fetcher) {
+        this.fetcher = fetcher;
+        this.cursor = null;
+        this.hasMore = false;
+        this.loading = true;
+
+        AsyncLoader.showProgress(table);
+        asyncLoader.load(key, () -> fetcher.fetch(null, pageSize), page -> {
+            AsyncLoader.restorePlaceholder(table);
+            table.setItems(FXCollections.observableArrayList(page.getItems()));
+            pageLoaded(page);
+        }, e -> {
+            AsyncLoader.restorePlaceholder(table);
+            loading = false;
+            onError.accept(e);
+        });
+    }
+
+    /**
+     * Appends the next page if there is one and no load is running.
+     */
+    public void loadMore() {
+        if (loading || !hasMore || fetcher == null) {
+            return;
+        }
+        loading = true;
+        PageFetcher<T, K> currentFetcher = fetcher;
+        K after = cursor;
+        asyncLoader.load(key, () -> currentFetcher.fetch(after, pageSize), page -> {
+            table.getItems().addAll(page.getItems());
+            pageLoaded(page);
+        }, e -> {
+            loading = false;
+            onError.accept(e);
+        });
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public int getLoadedCount() {
+        return table.getItems().size();
+    }
+
+    private void pageLoaded(Page<T> page) {
+        if (!page.isEmpty()) {
+            cursor = keyOf.apply(page.getLast());
+        }
+        hasMore = page.hasMore();
+        loading = false;
+        // A short first page may not fill the viewport, leaving nothing to scroll
+        Platform.runLater(this::loadMoreIfNotScrollable);
+    }
+
+    private void loadMoreIfNotScrollable() {
+        if (scrollBar == null) {
+            attachScrollBar();
+        }
+        if (scrollBar != null && !scrollBar.isVisible()) {
+            loadMore();
+        }
+    }
+
+    private void attachScrollBar() {
+        if (scrollBar != null) {
+            return;
+        }
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                scrollBar = bar;
+                bar.valueProperty().addListener((obs, oldValue, newValue) -> {
+                    double range = bar.getMax() - bar.getMin();
+                    if (range > 0 && newValue.doubleValue() - bar.getMin() >= range * PREFETCH_THRESHOLD) {
+                        loadMore();
+                    }
+                });
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.ums.system.util;
+
+import com.ums.system.model.Question;
+import com.ums.system.model.Quiz;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Cache of full quiz definitions shared by everyone taking a quiz in this
+ * process. Cached quizzes are deep, read-only copies, so one instance can be
+ * handed to any number of takers. Concurrent misses on the same quiz share a
+ * single load. Edits made by other processes are not seen here; callers check
+ * {@link Quiz#getVersion} against the database.
+ *
+ * Every quiz id has a version that {@link #invalidate} bumps; a load that
+ * started under an older version is returned to its callers but not cached,
+ * so an edit can never be overwritten by a slow read of the old definition.
+ */
+public class QuizCache {
+
+    // Rough per-object costs used by the footprint estimate
+    private static final long OBJECT_OVERHEAD_BYTES = 16;
+    private static final long REFERENCE_BYTES = 8;
+
+    private static class Entry {
+        final Quiz quiz;
+        final long version;
+        final long estimatedBytes;
+
+        Entry(Quiz quiz, long version, long estimatedBytes) {
+            this.quiz = quiz;
+            this.version = version;
+            this.estimatedBytes = estimatedBytes;
+        }
+    }
+
+    private final LruCache<Integer, Entry> entries;
+    private final Map<Integer, Long> versions = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<Quiz>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong sharedLoads = new AtomicLong();
+
+    public QuizCache(int maxQuizzes) {
+        this.entries = new LruCache<>(maxQuizzes);
+    }
+
+    /**
+     * Returns the cached quiz, or loads it with {@code loader}. The loader may
+     * return null for a quiz that does not exist; that result is not cached.
+     */
+    public Quiz get(int quizId, IntFunction<Quiz> loader) {
+        Entry entry = entries.get(quizId);
+        if (entry != null) {
+            return entry.quiz;
+        }
+
+        CompletableFuture<Quiz> ownLoad = new CompletableFuture<>();
+        CompletableFuture<Quiz> inFlight = loading.putIfAbsent(quizId, ownLoad);
+        if (inFlight != null) {
+            sharedLoads.incrementAndGet();
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+
+        long version = getVersion(quizId);
+        try {
+            Quiz quiz = freeze(loader.apply(quizId));
+            if (quiz != null) {
+                synchronized (this) {
+                    if (getVersion(quizId) == version) {
+                        entries.put(quizId, new Entry(quiz, version, estimateBytes(quiz)));
+                    }
+                }
+            }
+            ownLoad.complete(quiz);
+            return quiz;
+        } catch (RuntimeException e) {
+            ownLoad.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(quizId, ownLoad);
+        }
+    }
+
+    public synchronized void invalidate(int quizId) {
+        versions.merge(quizId, 1L, Long::sum);
+        entries.invalidate(quizId);
+        // Later callers must not join a load of the old definition
+        loading.remove(quizId);
+    }
+
+    public synchronized void invalidateAll() {
+        versions.replaceAll((id, version) -> version + 1);
+        entries.invalidateAll();
+        loading.clear();
+    }
+
+    public long getVersion(int quizId) {
+        return versions.getOrDefault(quizId, 0L);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public double getHitRate() {
+        return entries.getHitRate();
+    }
+
+    /**
+     * Number of lookups that missed but were served by another caller's load.
+     */
+    public long getSharedLoadCount() {
+        return sharedLoads.get();
+    }
+
+    /**
+     * Approximate heap used by the cached quizzes, based on their string
+     * lengths plus fixed per-object overheads.
+     */
+    public long getEstimatedBytes() {
+        return entries.values().stream().mapToLong(e -> e.estimatedBytes).sum();
+    }
+
+    public String getStats() {
+        return entries.getStats() + ", sharedLoads=" + sharedLoads.get() +
+               ", approxBytes=" + getEstimatedBytes();
+    }
+
+    /**
+     * Copies the quiz so that neither it nor its questions can be modified.
+     */
+    private static Quiz freeze(Quiz quiz) {
+        if (quiz == null) {
+            return null;
+        }
+        List<Question> questions = new ArrayList<>();
+        if (quiz.getQuestions() != null) {
+            for (Question q : quiz.getQuestions()) {
+                List<String> options = q.getOptions() == null
+                        ? Collections.emptyList()
+                        : Collections.unmodifiableList(new ArrayList<>(q.getOptions()));
+                questions.add(new Question(q.getId(), q.getText(), options, q.getCorrectOptionIndex()));
+            }
+        }
+        Quiz frozen = new Quiz(quiz.getId(), quiz.getTitle(), quiz.getCourseCode(), Collections.unmodifiableList(questions));
+        frozen.setVersion(quiz.getVersion());
+        return frozen;
+    }
+
+    private static long estimateBytes(Quiz quiz) {
+        long bytes = OBJECT_OVERHEAD_BYTES * 2 + stringBytes(quiz.getTitle()) + stringBytes(quiz.getCourseCode());
+        for (Question q : quiz.getQuestions()) {
+            bytes += OBJECT_OVERHEAD_BYTES * 2 + REFERENCE_BYTES + stringBytes(q.getText());
+            for (String option : q.getOptions()) {
+                bytes += REFERENCE_BYTES + stringBytes(option);
+            }
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String s) {
+        return s == null ? 0 : OBJECT_OVERHEAD_BYTES + s.length() * 2L;
+    }
+}
@@ -2,23 +2,33 @@ package com.ums.system.util;
 
 import com.ums.system.dao.*;
 import com.ums.system.service.*;
+import com.ums.system.utils.ConnectionPool;
 import com.ums.system.utils.DatabaseConnection;
+import com.ums.system.utils.PasswordUtil;
 import com.ums.system.utils.ReportGenerator;
 
-import java.sql.Connection;
+import javax.sql.DataSource;
+import java.nio.file.Paths;
 
 public class ServiceLocator {
     
     private static ServiceLocator instance;
 
-    private Connection connection;
+    private static final String SUBMISSION_JOURNAL = "quiz_submissions.journal";
+
+    private ConnectionPool connectionPool;
 
     private AdminService adminService;
     private InstructorService instructorService;
     private CourseService courseService;
     private StudentService studentService;
+    private StudentDashboardService studentDashboardService;
     private QuizService quizService;
-    private QuizResultService quizResultService;
+    private GradingService gradingService;
+    private QuizResultServiceImpl quizResultService;
+    private PaymentServiceImpl paymentService;
+    private SubmissionQueueServiceImpl submissionQueue;
+    private AuthServiceImpl authService;
 
     private EnrollmentDAO enrollmentDAO;
     private QuestionDAO questionDAO;
@@ -40,21 +50,29 @@ public class ServiceLocator {
     private void initializeServices() {
         try {
 
-            connection = DatabaseConnection.getInstance().getConnection();
+            DatabaseConnection database = DatabaseConnection.getInstance();
+            connectionPool = database.getConnectionPool();
             
-            if (connection == null) {
+            if (connectionPool == null) {
                 throw new RuntimeException("Failed to establish database connection");
             }
 
-            adminService = new AdminServiceImpl(connection);
-            instructorService = new InstructorServiceImpl(connection);
-            courseService = new CourseServiceImpl(connection);
-            studentService = new StudentServiceImpl(connection);
-            quizService = new QuizServiceImpl(connection);
-            quizResultService = new QuizResultServiceImpl(connection);
+            PasswordUtil.setCost(database.getIntSetting("BCRYPT_COST", PasswordUtil.DEFAULT_BCRYPT_COST));
+
+            adminService = new AdminServiceImpl(connectionPool);
+            courseService = new CourseServiceImpl(connectionPool);
+            instructorService = new InstructorServiceImpl(connectionPool, courseService);
+            studentService = new StudentServiceImpl(connectionPool);
+            studentDashboardService = new StudentDashboardServiceImpl(connectionPool);
+            authService = new AuthServiceImpl(connectionPool);
+            gradingService = new GradingServiceImpl();
+            quizService = new QuizServiceImpl(connectionPool, courseService);
+            quizResultService = new QuizResultServiceImpl(connectionPool, true);
+            paymentService = new PaymentServiceImpl(connectionPool);
+            submissionQueue = new SubmissionQueueServiceImpl(quizResultService, Paths.get(SUBMISSION_JOURNAL));
 
-            enrollmentDAO = new EnrollmentDAOImpl(connection);
-            questionDAO = new QuestionDAOImpl(connection);
+            enrollmentDAO = new EnrollmentDAOImpl(connectionPool);
+            questionDAO = new QuestionDAOImpl(connectionPool);
 
             reportGenerator = new ReportGenerator(enrollmentDAO, quizResultService);
             
@@ -67,8 +85,12 @@ public class ServiceLocator {
         }
     }
 
-    public Connection getConnection() {
-        return connection;
+    public DataSource getDataSource() {
+        return connectionPool;
+    }
+
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
     }
 
     public AdminService getAdminService() {
@@ -89,13 +111,33 @@ public class ServiceLocator {
         return studentService;
     }
 
+    public StudentDashboardService getStudentDashboardService() {
+        return studentDashboardService;
+    }
+
     public QuizService getQuizService() {
         return quizService;
     }
 
+    public AuthService getAuthService() {
+        return authService;
+    }
+
+    public GradingService getGradingService() {
+        return gradingService;
+    }
+
     public QuizResultService getQuizResultService() {
         return quizResultService;
     }
+
+    public PaymentService getPaymentService() {
+        return paymentService;
+    }
+
+    public SubmissionQueueService getSubmissionQueue() {
+        return submissionQueue;
+    }
     
 
     public EnrollmentDAO getEnrollmentDAO() {
@@ -114,8 +156,22 @@ public class ServiceLocator {
 
     public void shutdown() {
         try {
-            if (connection != null) {
-                DatabaseConnection.getInstance().closeConnection();
+            AsyncLoader.shutdown();
+            if (authService != null) {
+                authService.shutdown();
+            }
+            if (paymentService != null) {
+                paymentService.shutdown();
+            }
+            if (submissionQueue != null) {
+                // Before the connection pool closes, so queued submissions can still be flushed
+                submissionQueue.shutdown();
+            }
+            if (quizResultService != null) {
+                quizResultService.shutdown();
+            }
+            if (connectionPool != null && !connectionPool.isClosed()) {
+                connectionPool.close();
             }
             System.out.println("ServiceLocator: Resources cleaned up successfully");
         } catch (Exception e) {
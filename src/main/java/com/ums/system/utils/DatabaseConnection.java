@@ -1,38 +1,54 @@
 package com.ums.system.utils;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Properties;
 
 public class DatabaseConnection {
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final int DEFAULT_POOL_MIN_IDLE = 2;
+    private static final long BORROW_TIMEOUT_MS = 30_000;
+    private static final long IDLE_TIMEOUT_MS = 10 * 60_000;
+
     private static DatabaseConnection instance;
-    private Connection connection;
+    private final ConnectionPool pool;
+    private final Properties env;
 
     private DatabaseConnection() {
-        try {
-            Properties env = loadEnvFile();
+        env = loadEnvFile();
 
-            String host = env.getProperty("DB_HOST");
-            String port = env.getProperty("DB_PORT");
-            String database = env.getProperty("DB_NAME");
-            String username = env.getProperty("DB_USERNAME");
-            String password = env.getProperty("DB_PASSWORD");
+        String host = env.getProperty("DB_HOST");
+        String port = env.getProperty("DB_PORT");
+        String database = env.getProperty("DB_NAME");
+        String username = env.getProperty("DB_USERNAME");
+        String password = env.getProperty("DB_PASSWORD");
+        int poolSize = parseInt(env.getProperty("DB_POOL_SIZE"), DEFAULT_POOL_SIZE);
+        int minIdle = parseInt(env.getProperty("DB_POOL_MIN_IDLE"), DEFAULT_POOL_MIN_IDLE);
 
-            String url = String.format(
-                    "jdbc:mariadb://%s:%s/%s", // when remote Db ?sslMode=trust
-                    host, port, database
-            );
+        String url = String.format(
+                "jdbc:mariadb://%s:%s/%s", // when remote Db ?sslMode=trust
+                host, port, database
+        );
 
+        try {
             Class.forName("org.mariadb.jdbc.Driver");
-            connection = DriverManager.getConnection(url, username, password);
-            System.out.println("Database connection established successfully!");
         } catch (ClassNotFoundException e) {
             System.err.println("MariaDB JDBC Driver not found: " + e.getMessage());
             throw new RuntimeException("Failed to load database driver", e);
+        }
+
+        pool = new ConnectionPool(url, username, password, poolSize, minIdle, BORROW_TIMEOUT_MS, IDLE_TIMEOUT_MS);
+
+        // Open the first connection eagerly so a bad configuration fails at startup
+        try (Connection connection = pool.getConnection()) {
+            if (!connection.isValid(5)) {
+                throw new SQLException("Database did not answer the validation check");
+            }
+            System.out.println("Database connection pool established successfully! (max " + poolSize + " connections)");
         } catch (SQLException e) {
+            pool.close();
             System.err.println("Database connection failed: " + e.getMessage());
             throw new RuntimeException("Failed to establish database connection", e);
         }
@@ -49,34 +65,39 @@ public class DatabaseConnection {
         return props;
     }
 
-    public static DatabaseConnection getInstance() {
-        if (instance == null) {
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid setting '" + value + "', using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static synchronized DatabaseConnection getInstance() {
+        if (instance == null || instance.pool.isClosed()) {
             instance = new DatabaseConnection();
-        } else {
-            try {
-                if (instance.connection == null || instance.connection.isClosed()) {
-                    instance = new DatabaseConnection();
-                }
-            } catch (SQLException e) {
-                instance = new DatabaseConnection();
-            }
         }
         return instance;
     }
 
-    public Connection getConnection() {
-        return connection;
+    /**
+     * Reads a numeric setting from the .env file, falling back to the default
+     * when it is missing or malformed.
+     */
+    public int getIntSetting(String name, int defaultValue) {
+        return parseInt(env.getProperty(name), defaultValue);
     }
 
-    public void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                System.out.println("Database connection closed.");
-                connection = null;
-            } catch (SQLException e) {
-                System.err.println("Error closing connection: " + e.getMessage());
-            }
-        }
+    public ConnectionPool getConnectionPool() {
+        return pool;
+    }
+
+    public void closePool() {
+        pool.close();
+        System.out.println("Database connection pool closed.");
     }
 }
@@ -8,13 +8,33 @@ import at.favre.lib.crypto.bcrypt.BCrypt;
 public class PasswordUtil {
 
     // BCrypt cost factor (higher = more secure but slower)
-    private static final int BCRYPT_COST = 12;
+    public static final int DEFAULT_BCRYPT_COST = 12;
+    private static final int MIN_BCRYPT_COST = 4;
+    private static final int MAX_BCRYPT_COST = 31;
+
+    private static volatile int bcryptCost = DEFAULT_BCRYPT_COST;
+
+    /**
+     * Sets the cost used for new hashes. Existing hashes keep verifying at the
+     * cost they were created with; {@link #needsRehash} reports which ones differ.
+     */
+    public static void setCost(int cost) {
+        if (cost < MIN_BCRYPT_COST || cost > MAX_BCRYPT_COST) {
+            throw new IllegalArgumentException("BCrypt cost must be between " + MIN_BCRYPT_COST +
+                                               " and " + MAX_BCRYPT_COST);
+        }
+        bcryptCost = cost;
+    }
+
+    public static int getCost() {
+        return bcryptCost;
+    }
 
     public static String hashPassword(String plainPassword) {
         if (plainPassword == null || plainPassword.isEmpty()) {
             throw new IllegalArgumentException("Password cannot be null or empty");
         }
-        return BCrypt.withDefaults().hashToString(BCRYPT_COST, plainPassword.toCharArray());
+        return BCrypt.withDefaults().hashToString(bcryptCost, plainPassword.toCharArray());
     }
 
     public static boolean verifyPassword(String plainPassword, String hashedPassword) {
@@ -29,5 +49,33 @@ public class PasswordUtil {
             return false;
         }
     }
-}
 
+    /**
+     * Reads the cost factor from a hash such as {@code $2a$12$...}, or returns
+     * -1 when the hash is not in BCrypt format.
+     */
+    public static int costOf(String hashedPassword) {
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int start = hashedPassword.indexOf('$', 1) + 1;
+        if (start == 0 || start + 2 >= hashedPassword.length() || hashedPassword.charAt(start + 2) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hashedPassword.substring(start, start + 2));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * True when the hash was created with a lower cost than the current one
+     * and should be replaced the next time the plain password is known. A
+     * higher cost is kept, so a client configured with a lower BCRYPT_COST
+     * never weakens a hash.
+     */
+    public static boolean needsRehash(String hashedPassword) {
+        return costOf(hashedPassword) < bcryptCost;
+    }
+}
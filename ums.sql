@@ -17,6 +17,9 @@ CREATE TABLE students (
                           major VARCHAR(100),
                           grade DOUBLE,
                           department ENUM('CS', 'IS', 'IT', 'AI') NOT NULL,
+                          -- Running totals behind grade, maintained on every quiz submission
+                          quiz_score_total INT NOT NULL DEFAULT 0,
+                          quiz_question_total INT NOT NULL DEFAULT 0,
                           FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
@@ -51,6 +54,8 @@ CREATE TABLE quizzes (
                          id INT AUTO_INCREMENT PRIMARY KEY,
                          title VARCHAR(255) NOT NULL,
                          course_code VARCHAR(10) NOT NULL,
+                         -- Bumped on every edit so clients can tell a cached copy is stale
+                         version INT NOT NULL DEFAULT 0,
                          FOREIGN KEY (course_code) REFERENCES courses(code) ON DELETE CASCADE
 );
 
@@ -73,6 +78,8 @@ CREATE TABLE questions (
 
 CREATE TABLE quiz_results (
                               id INT AUTO_INCREMENT PRIMARY KEY,
+                              -- Set once per submission so a replayed submission is stored only once
+                              submission_id CHAR(36) UNIQUE,
                               student_id INT NOT NULL,
                               quiz_id INT NOT NULL,
                               score INT NOT NULL,
@@ -87,6 +94,8 @@ CREATE TABLE quiz_answers (
                               id INT AUTO_INCREMENT PRIMARY KEY,
                               result_id INT NOT NULL,
                               question_id INT NOT NULL,
+                              -- Index of the chosen option (0-3); grading and re-grading compare this
+                              chosen_option_index INT,
                               chosen_answer VARCHAR(255),
                               FOREIGN KEY (result_id) REFERENCES quiz_results(id) ON DELETE CASCADE,
                               FOREIGN KEY (question_id) REFERENCES questions(id) ON DELETE CASCADE
@@ -100,3 +109,40 @@ CREATE TABLE student_courses (
                                  FOREIGN KEY (course_code) REFERENCES courses(code) ON DELETE CASCADE
 );
 
+-- Catalog lookup for a student's available courses (level and major, in code order)
+CREATE INDEX idx_courses_level_major ON courses(level, major, code);
+
+-- Upgrading an existing database: add the running grade totals, then backfill
+-- them before the first submission so no grade is computed from empty totals.
+-- This is the statement behind the admin "Reconcile Grades" action.
+-- ALTER TABLE students
+--     ADD COLUMN quiz_score_total INT NOT NULL DEFAULT 0,
+--     ADD COLUMN quiz_question_total INT NOT NULL DEFAULT 0;
+-- UPDATE students s
+-- LEFT JOIN (
+--     SELECT qr.student_id, SUM(qr.score) AS score_total, SUM(qc.question_count) AS question_total
+--     FROM quiz_results qr
+--     JOIN (SELECT quiz_id, COUNT(*) AS question_count FROM questions GROUP BY quiz_id) qc
+--         ON qc.quiz_id = qr.quiz_id
+--     GROUP BY qr.student_id
+-- ) t ON t.student_id = s.user_id
+-- SET s.quiz_score_total = COALESCE(t.score_total, 0),
+--     s.quiz_question_total = COALESCE(t.question_total, 0),
+--     s.grade = CASE WHEN t.question_total > 0 THEN t.score_total * 100.0 / t.question_total ELSE s.grade END;
+
+-- Upgrading an existing database: add the submission id used to skip replayed
+-- quiz submissions (results saved before it existed keep a NULL id)
+-- ALTER TABLE quiz_results ADD COLUMN submission_id CHAR(36) UNIQUE AFTER id;
+
+-- Upgrading an existing database: add the quiz version checked against cached quizzes
+-- ALTER TABLE quizzes ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+-- Upgrading an existing database: add the chosen option index, then fill it in
+-- for stored answers from their text (rows it cannot match stay NULL and are
+-- re-graded by text)
+-- ALTER TABLE quiz_answers ADD COLUMN chosen_option_index INT AFTER question_id;
+-- UPDATE quiz_answers qa
+-- JOIN questions qn ON qn.id = qa.question_id
+-- SET qa.chosen_option_index = CASE qa.chosen_answer
+--     WHEN qn.option1 THEN 0 WHEN qn.option2 THEN 1
+--     WHEN qn.option3 THEN 2 WHEN qn.option4 THEN 3 END;